@@ -42,4 +42,8 @@ public class UniversalAdapterTestCase extends AndroidTestCase {
     protected static int getInternalCount(UniversalAdapter universalAdapter) {
         return universalAdapter.getInternalCount();
     }
+
+    protected static int getInternalItemViewType(UniversalAdapter universalAdapter, int position) {
+        return universalAdapter.getInternalItemViewType(position);
+    }
 }
@@ -1,12 +1,26 @@
 package com.raizlabs.universaladapter.test;
 
+import android.os.SystemClock;
 import android.view.View;
 import android.widget.LinearLayout;
 
+import com.raizlabs.coreutils.threading.ThreadingUtils;
 import com.raizlabs.coreutils.util.observable.lists.ListObserver;
 import com.raizlabs.coreutils.util.observable.lists.ListObserverListener;
+import com.raizlabs.universaladapter.ListObserverPayloadListener;
 import com.raizlabs.universaladapter.ViewHolder;
+import com.raizlabs.universaladapter.converter.AdapterMetrics;
+import com.raizlabs.universaladapter.converter.SlowBindWatchdog;
+import com.raizlabs.universaladapter.converter.UniversalAdapter;
 import com.raizlabs.universaladapter.converter.UniversalAdapterTestCase;
+import com.raizlabs.universaladapter.util.ChangePayloads;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.raizlabs.universaladapter.test.Constants.INDEX_CHANGED;
 import static com.raizlabs.universaladapter.test.Constants.INDEX_GENERIC;
@@ -98,4 +112,228 @@ public class VanillaAdapterTest extends UniversalAdapterTestCase {
         adapter.notifyDataSetChanged();
         assertTrue(changes[INDEX_GENERIC]);
     }
+
+    public void testTransactionCoalescing() {
+        final List<String> events = new ArrayList<>();
+        VanillaAdapter adapter = new VanillaAdapter();
+        adapter.add("First");
+        adapter.add("Last");
+        adapter.getListObserver().addListener(new ListObserverListener<Object>() {
+            @Override
+            public void onItemRangeChanged(ListObserver<Object> listObserver, int start, int count) {
+                events.add("changed " + start + " " + count);
+            }
+
+            @Override
+            public void onItemRangeInserted(ListObserver<Object> listObserver, int start, int count) {
+                events.add("inserted " + start + " " + count);
+            }
+
+            @Override
+            public void onItemRangeRemoved(ListObserver<Object> listObserver, int start, int count) {
+                events.add("removed " + start + " " + count);
+            }
+
+            @Override
+            public void onGenericChange(ListObserver<Object> listObserver) {
+                events.add("generic");
+            }
+        });
+
+        // adjacent inserts collapse, and a change inside them is dropped
+        adapter.beginTransaction();
+        adapter.add(1, "A");
+        adapter.add(2, "B");
+        adapter.add(1, "C");
+        adapter.set(2, "D");
+        adapter.remove(0);
+        adapter.remove(0);
+        adapter.endTransaction();
+        assertEquals(Arrays.asList("inserted 1 3", "removed 0 2"), events);
+        assertEquals(3, adapter.size());
+
+        // nothing recorded, nothing sent
+        events.clear();
+        adapter.beginTransaction();
+        adapter.endTransaction();
+        assertTrue(events.isEmpty());
+
+        // past the threshold the transaction is a single generic change
+        adapter.setTransactionCoalescingThreshold(1);
+        adapter.beginTransaction();
+        adapter.set(0, "E");
+        adapter.remove(2);
+        adapter.endTransaction();
+        assertEquals(Arrays.asList("generic"), events);
+    }
+
+    public void testBackgroundTransaction() throws Exception {
+        final List<String> events = new ArrayList<>();
+        final CountDownLatch published = new CountDownLatch(1);
+        final VanillaAdapter adapter = new VanillaAdapter();
+        adapter.add("First");
+        adapter.getListObserver().addListener(new ListObserverListener<Object>() {
+            @Override
+            public void onItemRangeChanged(ListObserver<Object> listObserver, int start, int count) {
+                events.add("changed " + start + " " + count);
+            }
+
+            @Override
+            public void onItemRangeInserted(ListObserver<Object> listObserver, int start, int count) {
+                events.add("inserted " + start + " " + count);
+                published.countDown();
+            }
+
+            @Override
+            public void onItemRangeRemoved(ListObserver<Object> listObserver, int start, int count) {
+                events.add("removed " + start + " " + count);
+            }
+
+            @Override
+            public void onGenericChange(ListObserver<Object> listObserver) {
+                events.add("generic");
+            }
+        });
+
+        // the copy of the items must be taken on the UI thread
+        try {
+            adapter.beginBackgroundTransaction();
+            fail("Began a background transaction off the UI thread");
+        } catch (IllegalStateException expected) {
+        }
+
+        final CountDownLatch began = new CountDownLatch(1);
+        final AtomicReference<VanillaAdapter.BackgroundTransaction> transaction = new AtomicReference<>();
+        ThreadingUtils.runOnUIThread(new Runnable() {
+            @Override
+            public void run() {
+                transaction.set(adapter.beginBackgroundTransaction());
+                began.countDown();
+            }
+        });
+        assertTrue(began.await(5, TimeUnit.SECONDS));
+
+        Thread worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                // setting an equal item changes nothing, just like on the adapter
+                transaction.get().set(0, "First");
+                for (int i = 0; i < 100; i++) {
+                    transaction.get().add(i);
+                }
+                transaction.get().commit();
+            }
+        });
+        worker.start();
+        worker.join();
+        assertTrue(published.await(5, TimeUnit.SECONDS));
+
+        assertEquals(Arrays.asList("inserted 1 100"), events);
+        assertEquals(101, adapter.size());
+        assertEquals(99, adapter.get(100));
+    }
+
+    public void testChangePayloads() {
+        final List<String> events = new ArrayList<>();
+        VanillaAdapter adapter = new VanillaAdapter();
+        adapter.add("First");
+        adapter.add("Second");
+        adapter.getListObserver().addListener(new ListObserverPayloadListener<Object>() {
+            @Override
+            public void onItemRangeChanged(ListObserver<Object> listObserver, int start, int count, Object payload) {
+                String description = payload instanceof ChangePayloads
+                        ? ((ChangePayloads) payload).getPayloads().toString() : String.valueOf(payload);
+                events.add("changed " + start + " " + count + " " + description);
+            }
+
+            @Override
+            public void onItemRangeChanged(ListObserver<Object> listObserver, int start, int count) {
+                events.add("changed " + start + " " + count);
+            }
+
+            @Override
+            public void onItemRangeInserted(ListObserver<Object> listObserver, int start, int count) {
+                events.add("inserted " + start + " " + count);
+            }
+
+            @Override
+            public void onItemRangeRemoved(ListObserver<Object> listObserver, int start, int count) {
+                events.add("removed " + start + " " + count);
+            }
+
+            @Override
+            public void onGenericChange(ListObserver<Object> listObserver) {
+                events.add("generic");
+            }
+        });
+
+        adapter.set(0, "Liked", "LIKES");
+        adapter.set(1, "Plain");
+        assertEquals(Arrays.asList("changed 0 1 LIKES", "changed 1 1 null"), events);
+
+        // payloads of the same rows are kept together, neighbouring rows only share a change with the same payload,
+        // and a full bind wins
+        events.clear();
+        adapter.beginTransaction();
+        adapter.set(0, "Liked", "LIKES");
+        adapter.set(0, "Liked", "COMMENTS");
+        adapter.set(1, "Commented", "COMMENTS");
+        adapter.endTransaction();
+        adapter.beginTransaction();
+        adapter.set(0, "Liked", "LIKES");
+        adapter.set(1, "Liked", "LIKES");
+        adapter.endTransaction();
+        adapter.beginTransaction();
+        adapter.set(0, "Liked", "LIKES");
+        adapter.set(0, "Plain");
+        adapter.endTransaction();
+        assertEquals(Arrays.asList("changed 0 1 [LIKES, COMMENTS]", "changed 1 1 COMMENTS", "changed 0 2 LIKES",
+                                   "changed 0 1 null"), events);
+    }
+
+    public void testSlowBindWatchdog() {
+        final List<String> reports = new ArrayList<>();
+        SlowBindWatchdog.Listener listener = new SlowBindWatchdog.Listener() {
+            @Override
+            public void onSlowCall(UniversalAdapter<?, ?> adapter, int viewType, int position, long durationNanos,
+                                   boolean bind, int suppressedCount) {
+                assertTrue(durationNanos > TimeUnit.MILLISECONDS.toNanos(1));
+                reports.add((bind ? "bind " : "create ") + viewType + " " + position + " " + suppressedCount);
+            }
+        };
+        VanillaAdapter adapter = new VanillaAdapter() {
+            @Override
+            protected void onBindViewHolder(VanillaHolder viewHolder, Object o, int position) {
+                if ("Slow".equals(o)) {
+                    SystemClock.sleep(5);
+                }
+            }
+        };
+        adapter.add("Fast");
+        adapter.add("Slow");
+        adapter.addHeaderView(new View(getContext()));
+        LinearLayout parent = new LinearLayout(getContext());
+        AdapterMetrics metrics = new AdapterMetrics();
+        adapter.setMetricsListener(metrics);
+
+        // only the first slow bind is reported within the interval
+        adapter.setSlowBindWatchdog(new SlowBindWatchdog(listener, 1, TimeUnit.HOURS.toMillis(1)));
+        for (int i = 0; i < 3; i++) {
+            assertBindCorrectly(1, parent, adapter);
+            assertBindCorrectly(2, parent, adapter);
+        }
+        assertEquals(Arrays.asList("bind 0 2 0"), reports);
+
+        // the suppressed count is carried into the next report
+        reports.clear();
+        adapter.setSlowBindWatchdog(new SlowBindWatchdog(listener, 1, 200));
+        assertBindCorrectly(2, parent, adapter);
+        assertBindCorrectly(2, parent, adapter);
+        SystemClock.sleep(250);
+        assertBindCorrectly(2, parent, adapter);
+        assertEquals(Arrays.asList("bind 0 2 0", "bind 0 2 1"), reports);
+
+        // the metrics listener still sees every bind
+        assertEquals(9, metrics.getBindCount(0));
+    }
 }
@@ -0,0 +1,186 @@
+package com.raizlabs.universaladapter.test.diff;
+
+import android.os.Looper;
+
+import com.raizlabs.coreutils.util.observable.lists.ListObserver;
+import com.raizlabs.coreutils.util.observable.lists.ListObserverListener;
+import com.raizlabs.universaladapter.converter.UniversalAdapterTestCase;
+import com.raizlabs.universaladapter.test.VanillaAdapter;
+import com.raizlabs.universaladapter.util.ItemDiffCallback;
+import com.raizlabs.universaladapter.util.KeyedItemDiffCallback;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Description: Tests that list diffs describe the new list and are applied as ranged notifications.
+ */
+public class ListDiffTest extends UniversalAdapterTestCase {
+
+    /**
+     * Items are "id:content" strings.
+     */
+    static final KeyedItemDiffCallback<Object> CALLBACK = new KeyedItemDiffCallback<Object>() {
+        @Override
+        public long getItemKey(Object item) {
+            return id(item).hashCode();
+        }
+
+        @Override
+        public boolean areItemsTheSame(Object oldItem, Object newItem) {
+            return id(oldItem).equals(id(newItem));
+        }
+
+        @Override
+        public boolean areContentsTheSame(Object oldItem, Object newItem) {
+            return oldItem.equals(newItem);
+        }
+
+        private String id(Object item) {
+            String string = (String) item;
+            return string.substring(0, string.indexOf(':'));
+        }
+    };
+
+    public void testDiffedLoad() throws Exception {
+        final List<String> events = new ArrayList<>();
+        final CountDownLatch published = new CountDownLatch(1);
+        VanillaAdapter adapter = new VanillaAdapter();
+        adapter.addAll(Arrays.<Object>asList("a:1", "b:1", "c:1"));
+        adapter.getListObserver().addListener(new ListObserverListener<Object>() {
+            @Override
+            public void onItemRangeChanged(ListObserver<Object> listObserver, int start, int count) {
+                events.add("changed " + start + " " + count);
+                published.countDown();
+            }
+
+            @Override
+            public void onItemRangeInserted(ListObserver<Object> listObserver, int start, int count) {
+                events.add("inserted " + start + " " + count);
+            }
+
+            @Override
+            public void onItemRangeRemoved(ListObserver<Object> listObserver, int start, int count) {
+                events.add("removed " + start + " " + count);
+            }
+
+            @Override
+            public void onGenericChange(ListObserver<Object> listObserver) {
+                events.add("generic");
+            }
+        });
+
+        adapter.loadItemList(Arrays.<Object>asList("a:2", "c:1", "d:1"), CALLBACK);
+        assertTrue(published.await(5, TimeUnit.SECONDS));
+
+        assertEquals(Arrays.asList("inserted 3 1", "removed 1 1", "changed 0 1"), events);
+        assertEquals(Arrays.<Object>asList("a:2", "c:1", "d:1"), new ArrayList<Object>(adapter));
+    }
+
+    public void testDiffedLoadCopiesOnUIThread() throws Exception {
+        final boolean[] copiedOnUIThread = new boolean[1];
+        final CountDownLatch published = new CountDownLatch(1);
+        List<Object> items = new ArrayList<Object>(Arrays.asList("a:1", "b:1")) {
+            @Override
+            public Object[] toArray() {
+                copiedOnUIThread[0] = Looper.myLooper() == Looper.getMainLooper();
+                return super.toArray();
+            }
+        };
+        VanillaAdapter adapter = new VanillaAdapter();
+        adapter.loadItemList(items);
+        adapter.getListObserver().addListener(new ListObserverListener<Object>() {
+            @Override
+            public void onItemRangeChanged(ListObserver<Object> listObserver, int start, int count) {
+                published.countDown();
+            }
+
+            @Override
+            public void onItemRangeInserted(ListObserver<Object> listObserver, int start, int count) {
+            }
+
+            @Override
+            public void onItemRangeRemoved(ListObserver<Object> listObserver, int start, int count) {
+            }
+
+            @Override
+            public void onGenericChange(ListObserver<Object> listObserver) {
+            }
+        });
+
+        adapter.loadItemList(Arrays.<Object>asList("a:2", "b:1"), CALLBACK);
+        assertTrue(published.await(5, TimeUnit.SECONDS));
+        assertTrue(copiedOnUIThread[0]);
+    }
+
+    public void testSupersededLoads() throws Exception {
+        final CountDownLatch firstDiffStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFirstDiff = new CountDownLatch(1);
+        final List<Object> diffedItems = new ArrayList<>();
+        ItemDiffCallback<Object> blockingCallback = new ItemDiffCallback<Object>() {
+            @Override
+            public boolean areItemsTheSame(Object oldItem, Object newItem) {
+                synchronized (diffedItems) {
+                    diffedItems.add(newItem);
+                }
+                if ("first:1".equals(newItem)) {
+                    firstDiffStarted.countDown();
+                    try {
+                        releaseFirstDiff.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return CALLBACK.areItemsTheSame(oldItem, newItem);
+            }
+
+            @Override
+            public boolean areContentsTheSame(Object oldItem, Object newItem) {
+                return CALLBACK.areContentsTheSame(oldItem, newItem);
+            }
+        };
+
+        final CountDownLatch published = new CountDownLatch(1);
+        final List<String> events = new ArrayList<>();
+        VanillaAdapter adapter = new VanillaAdapter();
+        adapter.add("a:1");
+        adapter.getListObserver().addListener(new ListObserverListener<Object>() {
+            @Override
+            public void onItemRangeChanged(ListObserver<Object> listObserver, int start, int count) {
+                events.add("changed " + start + " " + count);
+            }
+
+            @Override
+            public void onItemRangeInserted(ListObserver<Object> listObserver, int start, int count) {
+                events.add("inserted " + start + " " + count);
+                published.countDown();
+            }
+
+            @Override
+            public void onItemRangeRemoved(ListObserver<Object> listObserver, int start, int count) {
+                events.add("removed " + start + " " + count);
+            }
+
+            @Override
+            public void onGenericChange(ListObserver<Object> listObserver) {
+                events.add("generic");
+            }
+        });
+
+        adapter.loadItemList(Arrays.<Object>asList("first:1"), blockingCallback);
+        assertTrue(firstDiffStarted.await(5, TimeUnit.SECONDS));
+        adapter.loadItemList(Arrays.<Object>asList("second:1"), blockingCallback);
+        adapter.loadItemList(Arrays.<Object>asList("a:1", "third:1"), blockingCallback);
+        releaseFirstDiff.countDown();
+
+        assertTrue(published.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("inserted 1 1"), events);
+        assertEquals(Arrays.<Object>asList("a:1", "third:1"), new ArrayList<Object>(adapter));
+        synchronized (diffedItems) {
+            assertFalse(diffedItems.contains("second:1"));
+        }
+    }
+}
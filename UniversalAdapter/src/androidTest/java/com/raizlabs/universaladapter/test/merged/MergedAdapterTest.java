@@ -1,12 +1,24 @@
 package com.raizlabs.universaladapter.test.merged;
 
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
 import android.widget.LinearLayout;
 
 import com.raizlabs.coreutils.util.observable.lists.ListObserver;
 import com.raizlabs.coreutils.util.observable.lists.ListObserverListener;
+import com.raizlabs.universaladapter.AdapterTrace;
+import com.raizlabs.universaladapter.ListObserverMoveListener;
 import com.raizlabs.universaladapter.converter.MergedUniversalAdapter;
+import com.raizlabs.universaladapter.converter.RecyclerViewAdapterConverter;
+import com.raizlabs.universaladapter.converter.SharedRecycledViewPool;
 import com.raizlabs.universaladapter.converter.UniversalAdapterTestCase;
+import com.raizlabs.universaladapter.converter.UniversalConverterFactory;
 import com.raizlabs.universaladapter.test.MultipleItemTypeAdapter;
+import com.raizlabs.universaladapter.test.SimpleHeaderHolder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static com.raizlabs.universaladapter.test.Constants.INDEX_CHANGED;
 import static com.raizlabs.universaladapter.test.Constants.INDEX_INSERTED;
@@ -48,6 +60,421 @@ public class MergedAdapterTest extends UniversalAdapterTestCase {
             assertBindCorrectly(i, dummyParent, mergedUniversalAdapter);
         }
 
+        // view types of the second adapter are offset by the types of the first.
+        assertEquals(4, mergedUniversalAdapter.getItemViewTypeCount());
+        assertInternalItemViewType(1 + MultipleItemTypeAdapter.TYPE_1, 4, mergedUniversalAdapter);
+        assertInternalItemViewType(1 + MultipleItemTypeAdapter.TYPE_2, 5, mergedUniversalAdapter);
+        assertInternalHolderCreatedType(1 + MultipleItemTypeAdapter.TYPE_3, mergedUniversalAdapter,
+                                        MultipleItemTypeAdapter.ViewHolder3.class, dummyParent);
+    }
+
+    public void testMergedAdapterPositionLookup() {
+        MergedUniversalAdapter mergedUniversalAdapter = new MergedUniversalAdapter();
+
+        // mix of empty and populated adapters, since empty ones share a start position with the next piece.
+        for (int i = 0; i < 10; i++) {
+            MergedAdapter1 adapter = new MergedAdapter1();
+            mergedUniversalAdapter.addAdapter(adapter);
+            if (i % 3 != 0) {
+                adapter.add("Piece" + i + "-0");
+                adapter.add("Piece" + i + "-1");
+            }
+        }
+        mergedUniversalAdapter.addAdapter(new MergedAdapter1());
+
+        assertEquals(12, mergedUniversalAdapter.getCount());
+
+        int position = 0;
+        for (int i = 0; i < 10; i++) {
+            if (i % 3 != 0) {
+                assertEquals("Piece" + i + "-0", mergedUniversalAdapter.get(position++));
+                assertEquals("Piece" + i + "-1", mergedUniversalAdapter.get(position++));
+            }
+        }
+
+        assertNull(mergedUniversalAdapter.get(position));
+
+        // removing from an early piece shifts the later ones.
+        ((MergedAdapter1) mergedUniversalAdapter.getAdapter(1)).remove(0);
+        assertEquals("Piece1-1", mergedUniversalAdapter.get(0));
+        assertEquals("Piece2-0", mergedUniversalAdapter.get(1));
+        assertEquals("Piece8-1", mergedUniversalAdapter.get(10));
+    }
+
+    public void testNestedMergedAdapter() {
+        LinearLayout dummyParent = new LinearLayout(getContext());
+
+        MergedAdapter1 first = new MergedAdapter1();
+        first.add("First");
+
+        MergedAdapter1 innerFirst = new MergedAdapter1();
+        innerFirst.add("InnerFirst");
+        MultipleItemTypeAdapter innerSecond = new MultipleItemTypeAdapter();
+        innerSecond.add(5);
+        MergedUniversalAdapter inner = new MergedUniversalAdapter();
+        inner.addAdapters(innerFirst, innerSecond);
+
+        MergedAdapter1 last = new MergedAdapter1();
+        last.add("Last");
+
+        MergedUniversalAdapter outer = new MergedUniversalAdapter();
+        outer.addAdapters(first, inner, last);
+
+        assertEquals(4, outer.getCount());
+        assertTrue(outer.getAdapter(1) == inner);
+        assertEquals("First", outer.get(0));
+        assertEquals("InnerFirst", outer.get(1));
+        assertEquals(5, outer.get(2));
+        assertEquals("Last", outer.get(3));
+
+        // view types resolve straight to the nested leaves.
+        assertEquals(6, outer.getItemViewTypeCount());
+        assertInternalItemViewType(2 + MultipleItemTypeAdapter.TYPE_2, 2, outer);
+        assertInternalItemViewType(5, 3, outer);
+        for (int i = 0; i < getInternalCount(outer); i++) {
+            assertBindCorrectly(i, dummyParent, outer);
+        }
+
+        final int[] starts = new int[3];
+        final int[] counts = new int[3];
+        final int[] changedEvents = new int[1];
+        outer.getListObserver().addListener(new ListObserverListener() {
+            @Override
+            public void onItemRangeChanged(ListObserver listObserver, int start, int count) {
+                starts[INDEX_CHANGED] = start;
+                counts[INDEX_CHANGED] = count;
+                changedEvents[0]++;
+            }
+
+            @Override
+            public void onItemRangeInserted(ListObserver listObserver, int start, int count) {
+                starts[INDEX_INSERTED] = start;
+                counts[INDEX_INSERTED] = count;
+            }
+
+            @Override
+            public void onItemRangeRemoved(ListObserver listObserver, int start, int count) {
+                starts[INDEX_REMOVED] = start;
+                counts[INDEX_REMOVED] = count;
+            }
+
+            @Override
+            public void onGenericChange(ListObserver listObserver) {
+            }
+        });
+
+        // changes in a nested leaf are offset by everything before it.
+        innerSecond.add(6);
+        assertEquals(3, starts[INDEX_INSERTED]);
+        assertEquals(1, counts[INDEX_INSERTED]);
+        assertEquals(5, outer.getCount());
+        assertEquals("Last", outer.get(4));
+
+        // pieces added to the nested adapter show up in the outer one.
+        MergedAdapter1 innerThird = new MergedAdapter1();
+        innerThird.add("InnerThird");
+        innerThird.add("InnerThird2");
+        inner.addAdapter(innerThird);
+        assertEquals(4, starts[INDEX_INSERTED]);
+        assertEquals(2, counts[INDEX_INSERTED]);
+        assertEquals(7, outer.getCount());
+        assertEquals("InnerThird", outer.get(4));
+        assertEquals("Last", outer.get(6));
+
+        innerFirst.remove(0);
+        assertEquals(1, starts[INDEX_REMOVED]);
+        assertEquals(1, counts[INDEX_REMOVED]);
+        assertEquals(5, outer.get(1));
+
+        // a leaf change reaches the outer adapter once, not again through the nested adapter.
+        innerSecond.set(1, 7);
+        assertEquals(1, changedEvents[0]);
+        assertEquals(2, starts[INDEX_CHANGED]);
+
+        // changes the nested adapter reports itself are forwarded too.
+        inner.notifyItemRangeChanged(1, 2, null);
+        assertEquals(2, changedEvents[0]);
+        assertEquals(2, starts[INDEX_CHANGED]);
+        assertEquals(2, counts[INDEX_CHANGED]);
+    }
+
+    public void testSharedViewTypes() {
+        LinearLayout dummyParent = new LinearLayout(getContext());
+
+        MergedAdapter1 first = new SharedKeyAdapter();
+        first.add("First");
+        MultipleItemTypeAdapter middle = new MultipleItemTypeAdapter();
+        middle.add(5);
+        MergedAdapter1 last = new SharedKeyAdapter();
+        last.add("Last");
+
+        MergedUniversalAdapter mergedUniversalAdapter = new MergedUniversalAdapter();
+        mergedUniversalAdapter.addAdapters(first, middle, last);
+
+        // both keyed adapters share view type 0, the middle one keeps its own.
+        assertEquals(4, mergedUniversalAdapter.getItemViewTypeCount());
+        assertInternalItemViewType(0, 0, mergedUniversalAdapter);
+        assertInternalItemViewType(1 + MultipleItemTypeAdapter.TYPE_2, 1, mergedUniversalAdapter);
+        assertInternalItemViewType(0, 2, mergedUniversalAdapter);
+        assertEquals(SharedKeyAdapter.KEY, mergedUniversalAdapter.getItemViewTypeKey(0));
+
+        for (int i = 0; i < getInternalCount(mergedUniversalAdapter); i++) {
+            assertBindCorrectly(i, dummyParent, mergedUniversalAdapter);
+        }
+    }
+
+    public void testPieceOperations() {
+        MergedUniversalAdapter mergedUniversalAdapter = new MergedUniversalAdapter();
+        MergedAdapter1 first = new MergedAdapter1();
+        first.add("First");
+        MergedAdapter1 second = new MergedAdapter1();
+        second.add("Second");
+        second.add("Second2");
+        MergedAdapter1 third = new MergedAdapter1();
+        third.add("Third");
+        mergedUniversalAdapter.addAdapters(first, second, third);
+        int firstType = mergedUniversalAdapter.getItemViewType(0);
+        int thirdType = mergedUniversalAdapter.getItemViewType(3);
+        int viewTypeCount = mergedUniversalAdapter.getItemViewTypeCount();
+
+        final List<String> events = new ArrayList<>();
+        mergedUniversalAdapter.getListObserver().addListener(new ListObserverListener() {
+            @Override
+            public void onItemRangeChanged(ListObserver listObserver, int start, int count) {
+                events.add("changed " + start + " " + count);
+            }
+
+            @Override
+            public void onItemRangeInserted(ListObserver listObserver, int start, int count) {
+                events.add("inserted " + start + " " + count);
+            }
+
+            @Override
+            public void onItemRangeRemoved(ListObserver listObserver, int start, int count) {
+                events.add("removed " + start + " " + count);
+            }
+
+            @Override
+            public void onGenericChange(ListObserver listObserver) {
+                events.add("generic");
+            }
+        });
+
+        assertTrue(mergedUniversalAdapter.removeAdapter(second));
+        assertEquals(Arrays.asList("removed 1 2"), events);
+        assertEquals(2, mergedUniversalAdapter.getCount());
+        assertEquals("Third", mergedUniversalAdapter.get(1));
+        // pieces keep their view types when others are removed, so pooled holders still match.
+        assertEquals(thirdType, mergedUniversalAdapter.getItemViewType(1));
+        events.clear();
+
+        // a removed adapter no longer forwards its changes.
+        second.add("Second3");
+        assertTrue(events.isEmpty());
+
+        mergedUniversalAdapter.addAdapter(1, second);
+        assertEquals(Arrays.asList("inserted 1 3"), events);
+        assertEquals("Second3", mergedUniversalAdapter.get(3));
+        events.clear();
+
+        MergedAdapter1 replacement = new MergedAdapter1();
+        replacement.add("Replacement");
+        assertTrue(mergedUniversalAdapter.replaceAdapter(0, replacement) == first);
+        assertEquals(Arrays.asList("removed 0 1", "inserted 0 1"), events);
+        assertEquals("Replacement", mergedUniversalAdapter.get(0));
+        // the replaced piece's view type is released and handed to its replacement, so the count stays bounded.
+        assertEquals(firstType, mergedUniversalAdapter.getItemViewType(0));
+        assertEquals(viewTypeCount, mergedUniversalAdapter.getItemViewTypeCount());
+        assertEquals(thirdType, mergedUniversalAdapter.getItemViewType(4));
+        events.clear();
+
+        mergedUniversalAdapter.moveAdapter(2, 0);
+        assertEquals(Arrays.asList("removed 4 1", "inserted 0 1"), events);
+        assertEquals("Third", mergedUniversalAdapter.get(0));
+        assertEquals(thirdType, mergedUniversalAdapter.getItemViewType(0));
+        assertEquals("Replacement", mergedUniversalAdapter.get(1));
+        assertTrue(mergedUniversalAdapter.getAdapter(2) == second);
+        events.clear();
+
+        second.add("Second4");
+        assertEquals(Arrays.asList("inserted 5 1"), events);
+        events.clear();
+
+        // a bad index leaves the adapters as they were.
+        try {
+            mergedUniversalAdapter.moveAdapter(0, 3);
+            fail("Expected an IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        assertTrue(mergedUniversalAdapter.getAdapter(0) == third);
+        assertEquals(3, mergedUniversalAdapter.getAdapterCount());
+        assertEquals("Replacement", mergedUniversalAdapter.get(1));
+        assertTrue(events.isEmpty());
+    }
+
+    public void testMoveFlattenedAdapter() {
+        MergedAdapter1 first = new MergedAdapter1();
+        first.add("First");
+        MergedAdapter1 innerFirst = new MergedAdapter1();
+        innerFirst.add("InnerFirst");
+        MergedAdapter1 innerSecond = new MergedAdapter1();
+        innerSecond.add("InnerSecond");
+        innerSecond.add("InnerSecond2");
+        MergedUniversalAdapter inner = new MergedUniversalAdapter();
+        inner.addAdapters(innerFirst, innerSecond);
+        MergedAdapter1 last = new MergedAdapter1();
+        last.add("Last");
+        MergedUniversalAdapter outer = new MergedUniversalAdapter();
+        outer.addAdapters(first, inner, last);
+
+        // all the leaves of a flattened adapter move together.
+        outer.moveAdapter(1, 2);
+        assertEquals("Last", outer.get(1));
+        assertEquals("InnerFirst", outer.get(2));
+        assertEquals("InnerSecond2", outer.get(4));
+        innerSecond.add("InnerSecond3");
+        assertEquals("InnerSecond3", outer.get(5));
+
+        outer.moveAdapter(2, 0);
+        assertEquals("InnerFirst", outer.get(0));
+        assertEquals("InnerSecond3", outer.get(3));
+        assertEquals("First", outer.get(4));
+        assertEquals("Last", outer.get(5));
+
+        outer.removeAdapter(0);
+        assertEquals(2, outer.getCount());
+        assertEquals("First", outer.get(0));
+        outer.addAdapter(1, inner);
+        assertEquals("InnerFirst", outer.get(1));
+        assertEquals("Last", outer.get(5));
+    }
+
+    public void testViewTypeCacheAfterPieceViewTypesChange() {
+        LinearLayout dummyParent = new LinearLayout(getContext());
+        MergedAdapter1 first = new MergedAdapter1();
+        first.add("First");
+        MergedAdapter1 second = new MergedAdapter1();
+        second.add("Second");
+        second.add("Second2");
+        MergedUniversalAdapter mergedUniversalAdapter = new MergedUniversalAdapter();
+        mergedUniversalAdapter.setViewTypeCacheEnabled(true);
+        mergedUniversalAdapter.addAdapters(first, second);
+        for (int i = 0; i < getInternalCount(mergedUniversalAdapter); i++) {
+            assertBindCorrectly(i, dummyParent, mergedUniversalAdapter);
+        }
+
+        // a new header changes the view type count of the piece, which reassigns its merged view types.
+        second.addHeaderHolder(new SimpleHeaderHolder(new View(getContext())));
+        assertEquals(4, getInternalCount(mergedUniversalAdapter));
+        int headerType = getInternalItemViewType(mergedUniversalAdapter, 1);
+        int itemType = getInternalItemViewType(mergedUniversalAdapter, 2);
+        assertTrue(headerType != itemType);
+        assertInternalItemViewType(itemType, 3, mergedUniversalAdapter);
+        assertInternalHolderCreatedType(headerType, mergedUniversalAdapter, SimpleHeaderHolder.class, dummyParent);
+        assertInternalHolderCreatedType(itemType, mergedUniversalAdapter, MergedAdapter1.ViewHolder.class, dummyParent);
+    }
+
+    public void testMoveNotifications() {
+        MergedUniversalAdapter mergedUniversalAdapter = new MergedUniversalAdapter();
+        MergedAdapter1 first = new MergedAdapter1();
+        first.add("First");
+        MergedAdapter1 second = new MergedAdapter1();
+        second.add("Second");
+        second.add("Second2");
+        second.add("Second3");
+        mergedUniversalAdapter.addAdapters(first, second);
+
+        final List<String> moves = new ArrayList<>();
+        mergedUniversalAdapter.getListObserver().addListener(new ListObserverMoveListener() {
+            @Override
+            public void onItemMoved(ListObserver listObserver, int fromPosition, int toPosition) {
+                moves.add("moved " + fromPosition + " " + toPosition);
+            }
+
+            @Override
+            public void onItemRangeChanged(ListObserver listObserver, int start, int count) {
+                moves.add("changed " + start + " " + count);
+            }
+
+            @Override
+            public void onItemRangeInserted(ListObserver listObserver, int start, int count) {
+                moves.add("inserted " + start + " " + count);
+            }
+
+            @Override
+            public void onItemRangeRemoved(ListObserver listObserver, int start, int count) {
+                moves.add("removed " + start + " " + count);
+            }
+
+            @Override
+            public void onGenericChange(ListObserver listObserver) {
+                moves.add("generic");
+            }
+        });
+        final List<String> fallback = new ArrayList<>();
+        mergedUniversalAdapter.getListObserver().addListener(new ListObserverListener() {
+            @Override
+            public void onItemRangeChanged(ListObserver listObserver, int start, int count) {
+                fallback.add("changed " + start + " " + count);
+            }
+
+            @Override
+            public void onItemRangeInserted(ListObserver listObserver, int start, int count) {
+                fallback.add("inserted " + start + " " + count);
+            }
+
+            @Override
+            public void onItemRangeRemoved(ListObserver listObserver, int start, int count) {
+                fallback.add("removed " + start + " " + count);
+            }
+
+            @Override
+            public void onGenericChange(ListObserver listObserver) {
+                fallback.add("generic");
+            }
+        });
+
+        second.move(2, 0);
+        assertEquals(Arrays.asList("Second3", "Second", "Second2"), new ArrayList<Object>(second));
+        assertEquals(Arrays.asList("moved 3 1"), moves);
+        assertEquals(Arrays.asList("removed 3 1", "inserted 1 1"), fallback);
+        assertEquals("Second3", mergedUniversalAdapter.get(1));
+    }
+
+    public void testNamespacedStableIds() {
+        MergedUniversalAdapter mergedUniversalAdapter = new MergedUniversalAdapter();
+        StableIdAdapter first = new StableIdAdapter();
+        first.add("First");
+        StableIdAdapter second = new StableIdAdapter();
+        second.add("Second");
+        mergedUniversalAdapter.addAdapters(first, second);
+
+        assertTrue(mergedUniversalAdapter.hasStableIds());
+
+        // both children report id 0, but the merged ids differ and keep the child id in the lower bits.
+        long firstId = mergedUniversalAdapter.getItemId(0);
+        long secondId = mergedUniversalAdapter.getItemId(1);
+        assertTrue(firstId != secondId);
+        assertEquals(0, firstId & 0xFFFFFFFFFFFFL);
+        assertEquals(0, secondId & 0xFFFFFFFFFFFFL);
+
+        // ids follow their piece when pieces move.
+        mergedUniversalAdapter.moveAdapter(1, 0);
+        assertEquals(secondId, mergedUniversalAdapter.getItemId(0));
+        assertEquals(firstId, mergedUniversalAdapter.getItemId(1));
+
+        // a new piece never takes the ids of a removed one, whose items may still be animating out.
+        mergedUniversalAdapter.removeAdapter(second);
+        StableIdAdapter third = new StableIdAdapter();
+        third.add("Third");
+        mergedUniversalAdapter.addAdapter(third);
+        long thirdId = mergedUniversalAdapter.getItemId(1);
+        assertTrue(thirdId != secondId);
+        assertTrue(thirdId != firstId);
+
+        mergedUniversalAdapter.addAdapter(new MergedAdapter1());
+        assertFalse(mergedUniversalAdapter.hasStableIds());
     }
 
     public void testMergedAdapterNotifications() {
@@ -157,4 +584,192 @@ public class MergedAdapterTest extends UniversalAdapterTestCase {
         assertTrue(counts[INDEX_CHANGED] == 1);
         called[INDEX_CHANGED] = false;
     }
+
+    public void testSharedRecycledViewPool() {
+        SharedKeyAdapter first = new SharedKeyAdapter();
+        first.addHeaderHolder(new SimpleHeaderHolder(new View(getContext())));
+        first.add("First");
+        SharedKeyAdapter second = new SharedKeyAdapter();
+        second.add("Second");
+        MultipleItemTypeAdapter third = new MultipleItemTypeAdapter();
+        third.add("Third");
+
+        SharedRecycledViewPool pool = new SharedRecycledViewPool(2, 3);
+        RecyclerView firstView = new RecyclerView(getContext());
+        RecyclerViewAdapterConverter firstConverter = UniversalConverterFactory.create(first, firstView);
+        firstConverter.setSharedRecycledViewPool(pool);
+        RecyclerView secondView = new RecyclerView(getContext());
+        RecyclerViewAdapterConverter secondConverter = UniversalConverterFactory.create(second, secondView);
+        secondConverter.setSharedRecycledViewPool(pool);
+        RecyclerView thirdView = new RecyclerView(getContext());
+        RecyclerViewAdapterConverter thirdConverter = UniversalConverterFactory.create(third, thirdView);
+        thirdConverter.setSharedRecycledViewPool(pool);
+
+        // keyed items share a view type despite the header offset, everything else gets its own
+        int sharedType = pool.getViewType(SharedKeyAdapter.KEY);
+        assertEquals(sharedType, firstConverter.getItemViewType(1));
+        assertEquals(sharedType, secondConverter.getItemViewType(0));
+        int headerType = firstConverter.getItemViewType(0);
+        int unkeyedType = thirdConverter.getItemViewType(0);
+        assertTrue(headerType != sharedType && unkeyedType != sharedType && headerType != unkeyedType);
+        assertEquals(SimpleHeaderHolder.class, firstConverter.createViewHolder(firstView, headerType).getClass());
+        assertEquals(MultipleItemTypeAdapter.ViewHolder1.class,
+                     thirdConverter.createViewHolder(thirdView, unkeyedType).getClass());
+
+        // a holder recycled by one list is reused by the other, up to the per-type cap
+        for (int i = 0; i < 3; i++) {
+            pool.putRecycledView(firstConverter.createViewHolder(firstView, sharedType));
+        }
+        assertNotNull(secondView.getRecycledViewPool().getRecycledView(sharedType));
+        assertNotNull(pool.getRecycledView(sharedType));
+        assertNull(pool.getRecycledView(sharedType));
+
+        // raised limits stay within the pool's bound
+        pool.setMaxRecycledViews(SharedKeyAdapter.KEY, 10);
+        for (int i = 0; i < 5; i++) {
+            pool.putRecycledView(secondConverter.createViewHolder(secondView, sharedType));
+        }
+        int pooled = 0;
+        while (pool.getRecycledView(sharedType) != null) {
+            pooled++;
+        }
+        assertEquals(3, pooled);
+    }
+
+    public void testSharedRecycledViewPoolAfterPieceChanges() {
+        SharedKeyAdapter keyed = new SharedKeyAdapter();
+        keyed.add("Keyed");
+        MultipleItemTypeAdapter unkeyed = new MultipleItemTypeAdapter();
+        unkeyed.add("Unkeyed");
+        MutableKeyAdapter mutable = new MutableKeyAdapter();
+        mutable.add("Mutable");
+        MergedUniversalAdapter merged = new MergedUniversalAdapter();
+        merged.addAdapters(keyed, unkeyed, mutable);
+
+        SharedRecycledViewPool pool = new SharedRecycledViewPool();
+        RecyclerView view = new RecyclerView(getContext());
+        RecyclerViewAdapterConverter converter = UniversalConverterFactory.create(merged, view);
+        converter.setSharedRecycledViewPool(pool);
+
+        assertEquals(pool.getViewType(SharedKeyAdapter.KEY), converter.getItemViewType(0));
+        int unkeyedType = converter.getItemViewType(1);
+        int mutableType = converter.getItemViewType(2);
+        pool.putRecycledView(converter.createViewHolder(view, mutableType));
+
+        // removing a piece leaves the pool view types of the others alone
+        merged.removeAdapter(keyed);
+        assertEquals(unkeyedType, converter.getItemViewType(0));
+        assertEquals(MultipleItemTypeAdapter.ViewHolder1.class,
+                     converter.createViewHolder(view, unkeyedType).getClass());
+        assertEquals(mutableType, converter.getItemViewType(1));
+
+        // an item view type whose key changed is pooled under the new key, and its old holders are dropped
+        mutable.key = "Mutable";
+        mutable.notifyDataSetChanged();
+        int keyedMutableType = converter.getItemViewType(1);
+        assertEquals(pool.getViewType("Mutable"), keyedMutableType);
+        assertNull(pool.getRecycledView(mutableType));
+        assertEquals(MergedAdapter1.ViewHolder.class, converter.createViewHolder(view, keyedMutableType).getClass());
+
+        // a piece added later is pooled by its key again
+        SharedKeyAdapter readded = new SharedKeyAdapter();
+        readded.add("Readded");
+        merged.addAdapter(readded);
+        int readdedType = converter.getItemViewType(2);
+        assertEquals(pool.getViewType(SharedKeyAdapter.KEY), readdedType);
+        assertEquals(MergedAdapter1.ViewHolder.class, converter.createViewHolder(view, readdedType).getClass());
+    }
+
+    public void testSharedRecycledViewPoolKeyedTypes() {
+        KeyedTypesAdapter adapter = new KeyedTypesAdapter("Pair", "Pair");
+        adapter.add("First");
+        adapter.add(2);
+        SharedRecycledViewPool pool = new SharedRecycledViewPool();
+        RecyclerView view = new RecyclerView(getContext());
+        RecyclerViewAdapterConverter converter = UniversalConverterFactory.create(adapter, view);
+        converter.setSharedRecycledViewPool(pool);
+
+        int pairType = pool.getViewType("Pair");
+        assertEquals(pairType, converter.getItemViewType(0));
+        assertEquals(pairType, converter.getItemViewType(1));
+        assertEquals(MultipleItemTypeAdapter.ViewHolder1.class, converter.createViewHolder(view, pairType).getClass());
+
+        // holders of a shared key are created by an item view type that still has it, whether or not the one that
+        // first had it was laid out again
+        adapter.keys[MultipleItemTypeAdapter.TYPE_1] = "Alone";
+        assertEquals(MultipleItemTypeAdapter.ViewHolder2.class, converter.createViewHolder(view, pairType).getClass());
+        int aloneType = converter.getItemViewType(0);
+        assertEquals(pool.getViewType("Alone"), aloneType);
+        assertEquals(pairType, converter.getItemViewType(1));
+        assertEquals(MultipleItemTypeAdapter.ViewHolder1.class, converter.createViewHolder(view, aloneType).getClass());
+        assertEquals(MultipleItemTypeAdapter.ViewHolder2.class, converter.createViewHolder(view, pairType).getClass());
+    }
+
+    public void testTracing() {
+        LinearLayout dummyParent = new LinearLayout(getContext());
+
+        // every section opened along the way must be closed for binds to keep working
+        AdapterTrace.setEnabled(true);
+        try {
+            MultipleItemTypeAdapter inner = new MultipleItemTypeAdapter();
+            inner.add("Traced");
+            inner.add(5);
+            MergedUniversalAdapter mergedUniversalAdapter = new MergedUniversalAdapter();
+            mergedUniversalAdapter.addAdapters(inner, new MergedAdapter1());
+            for (int i = 0; i < getInternalCount(mergedUniversalAdapter); i++) {
+                assertBindCorrectly(i, dummyParent, mergedUniversalAdapter);
+            }
+            inner.add(0.5f);
+            assertEquals(3, mergedUniversalAdapter.getCount());
+        } finally {
+            AdapterTrace.setEnabled(false);
+        }
+    }
+
+    private static class SharedKeyAdapter extends MergedAdapter1 {
+
+        static final Object KEY = "SharedKey";
+
+        @Override
+        public Object getItemViewTypeKey(int itemViewType) {
+            return KEY;
+        }
+    }
+
+    private static class MutableKeyAdapter extends MergedAdapter1 {
+
+        Object key;
+
+        @Override
+        public Object getItemViewTypeKey(int itemViewType) {
+            return key;
+        }
+    }
+
+    private static class KeyedTypesAdapter extends MultipleItemTypeAdapter {
+
+        final Object[] keys;
+
+        KeyedTypesAdapter(Object... keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public Object getItemViewTypeKey(int itemViewType) {
+            return itemViewType < keys.length ? keys[itemViewType] : null;
+        }
+    }
+
+    private static class StableIdAdapter extends MergedAdapter1 {
+
+        @Override
+        public boolean hasStableIds() {
+            return true;
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return position;
+        }
+    }
 }
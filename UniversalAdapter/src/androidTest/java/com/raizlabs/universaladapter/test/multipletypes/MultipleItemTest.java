@@ -1,16 +1,29 @@
 package com.raizlabs.universaladapter.test.multipletypes;
 
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseIntArray;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.LinearLayout;
 
 import com.raizlabs.coreutils.util.observable.lists.ListObserver;
 import com.raizlabs.coreutils.util.observable.lists.ListObserverListener;
+import com.raizlabs.universaladapter.ViewHolder;
+import com.raizlabs.universaladapter.converter.AdapterMetrics;
+import com.raizlabs.universaladapter.converter.AdapterMetricsListener;
+import com.raizlabs.universaladapter.converter.RecycledViewPoolSizer;
+import com.raizlabs.universaladapter.converter.RecyclerViewAdapterConverter;
 import com.raizlabs.universaladapter.converter.UniversalAdapter;
 import com.raizlabs.universaladapter.converter.UniversalAdapterTestCase;
+import com.raizlabs.universaladapter.converter.UniversalConverterFactory;
 import com.raizlabs.universaladapter.test.MultipleItemTypeAdapter;
 import com.raizlabs.universaladapter.test.SimpleFooterHolder;
 import com.raizlabs.universaladapter.test.SimpleHeaderHolder;
+import com.raizlabs.universaladapter.util.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static com.raizlabs.universaladapter.test.Constants.INDEX_CHANGED;
 import static com.raizlabs.universaladapter.test.Constants.INDEX_GENERIC;
@@ -137,4 +150,151 @@ public class MultipleItemTest extends UniversalAdapterTestCase {
         assertTrue(startPositions[INDEX_INSERTED] == 2);
         changes[INDEX_INSERTED] = false;
     }
+
+    public void testViewTypeCache() {
+        MultipleItemTypeAdapter adapter = new MultipleItemTypeAdapter();
+        adapter.setViewTypeCacheEnabled(true);
+        adapter.add("Multiple");
+        adapter.add(5);
+        adapter.addHeaderHolder(new SimpleHeaderHolder(new View(getContext())));
+
+        assertItemTypeWasCorrectlySpecified(MultipleItemTypeAdapter.TYPE_1, 0, adapter);
+        assertItemTypeWasCorrectlySpecified(MultipleItemTypeAdapter.TYPE_2, 1, adapter);
+
+        // cached types must shift with inserted and removed items
+        adapter.add(0, 0.5f);
+        assertItemTypeWasCorrectlySpecified(MultipleItemTypeAdapter.TYPE_3, 0, adapter);
+        assertItemTypeWasCorrectlySpecified(MultipleItemTypeAdapter.TYPE_1, 1, adapter);
+        assertItemTypeWasCorrectlySpecified(MultipleItemTypeAdapter.TYPE_2, 2, adapter);
+
+        adapter.remove(1);
+        assertItemTypeWasCorrectlySpecified(MultipleItemTypeAdapter.TYPE_3, 0, adapter);
+        assertItemTypeWasCorrectlySpecified(MultipleItemTypeAdapter.TYPE_2, 1, adapter);
+
+        adapter.set(1, "Changed");
+        assertItemTypeWasCorrectlySpecified(MultipleItemTypeAdapter.TYPE_1, 1, adapter);
+        assertTotalCount(3, adapter);
+    }
+
+    public void testPreInflation() throws Exception {
+        MultipleItemTypeAdapter adapter = new MultipleItemTypeAdapter();
+        adapter.add("Multiple");
+        adapter.addHeaderHolder(new SimpleHeaderHolder(new View(getContext())));
+        adapter.setBackgroundInflationEnabled(true);
+        RecyclerView recyclerView = new RecyclerView(getContext());
+        RecyclerViewAdapterConverter<Object, ViewHolder> converter =
+                UniversalConverterFactory.create(adapter, recyclerView);
+
+        SparseIntArray targetCounts = new SparseIntArray();
+        targetCounts.put(MultipleItemTypeAdapter.TYPE_1, 2);
+        targetCounts.put(MultipleItemTypeAdapter.TYPE_3, 7);
+        converter.preInflateViewHolders(targetCounts);
+
+        // pooled under the internal view type, past the pool's default limit
+        RecyclerView.RecycledViewPool pool = recyclerView.getRecycledViewPool();
+        int headersCount = adapter.getHeadersCount();
+        assertPooled(pool, MultipleItemTypeAdapter.TYPE_1 + headersCount, 2, MultipleItemTypeAdapter.ViewHolder1.class);
+        assertPooled(pool, MultipleItemTypeAdapter.TYPE_3 + headersCount, 7, MultipleItemTypeAdapter.ViewHolder3.class);
+        assertNull(pool.getRecycledView(MultipleItemTypeAdapter.TYPE_2 + headersCount));
+    }
+
+    public void testAdaptivePoolSizing() {
+        MultipleItemTypeAdapter adapter = new MultipleItemTypeAdapter();
+        adapter.add("Multiple");
+        adapter.add(5);
+        adapter.add(0.5f);
+        RecyclerView recyclerView = new RecyclerView(getContext());
+        RecyclerViewAdapterConverter<Object, ViewHolder> converter =
+                UniversalConverterFactory.create(adapter, recyclerView);
+        RecycledViewPoolSizer sizer = new RecycledViewPoolSizer(4, 6);
+        converter.setRecycledViewPoolSizer(sizer);
+        int type1 = converter.getItemViewType(0);
+        int type2 = converter.getItemViewType(1);
+        int type3 = converter.getItemViewType(2);
+
+        // one more than the peak number of attached holders
+        List<RecyclerView.ViewHolder> attached = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            RecyclerView.ViewHolder viewHolder = converter.createViewHolder(recyclerView, type1);
+            converter.onBindViewHolder(viewHolder, 0);
+            converter.onViewAttachedToWindow(viewHolder);
+            attached.add(viewHolder);
+        }
+        assertEquals(3, sizer.getCreateCount(type1));
+        assertEquals(3, sizer.getBindCount(type1));
+        assertEquals(3, sizer.getPeakAttachedCount(type1));
+        assertEquals(4, sizer.getMaxRecycledViews(type1));
+
+        // creating below the peak means the pool dropped a holder, but the per-type limit holds
+        converter.onViewDetachedFromWindow(attached.get(0));
+        converter.onViewAttachedToWindow(converter.createViewHolder(recyclerView, type1));
+        assertEquals(4, sizer.getMaxRecycledViews(type1));
+        for (int i = 0; i < 6; i++) {
+            recyclerView.getRecycledViewPool().putRecycledView(converter.createViewHolder(recyclerView, type1));
+        }
+        int pooled = 0;
+        while (recyclerView.getRecycledViewPool().getRecycledView(type1) != null) {
+            pooled++;
+        }
+        assertEquals(4, pooled);
+
+        // past the overall limit, the types bound least often give up holders
+        converter.onViewAttachedToWindow(converter.createViewHolder(recyclerView, type2));
+        converter.onViewAttachedToWindow(converter.createViewHolder(recyclerView, type3));
+        assertEquals(4, sizer.getMaxRecycledViews(type1));
+        assertEquals(6, sizer.getMaxRecycledViews(type1) + sizer.getMaxRecycledViews(type2)
+                + sizer.getMaxRecycledViews(type3));
+    }
+
+    public void testMetrics() {
+        LinearLayout dummyLinear = new LinearLayout(getContext());
+        MultipleItemTypeAdapter adapter = new MultipleItemTypeAdapter();
+        adapter.add("Multiple");
+        adapter.add(5);
+        adapter.add(4);
+        adapter.addHeaderHolder(new SimpleHeaderHolder(new View(getContext())));
+        AdapterMetrics metrics = new AdapterMetrics();
+        adapter.setMetricsListener(metrics);
+
+        for (int i = 0; i < getInternalCount(adapter); i++) {
+            assertBindCorrectly(i, dummyLinear, adapter);
+        }
+        assertBindCorrectly(1, dummyLinear, adapter);
+
+        assertTrue(Arrays.equals(new int[]{AdapterMetricsListener.VIEW_TYPE_HEADER, MultipleItemTypeAdapter.TYPE_1,
+                MultipleItemTypeAdapter.TYPE_2}, metrics.getViewTypes()));
+        assertEquals(1, metrics.getCreateCount(AdapterMetricsListener.VIEW_TYPE_HEADER));
+        assertEquals(2, metrics.getCreateCount(MultipleItemTypeAdapter.TYPE_1));
+        assertEquals(2, metrics.getBindCount(MultipleItemTypeAdapter.TYPE_2));
+        assertEquals(0, metrics.getBindCount(MultipleItemTypeAdapter.TYPE_3));
+        assertEquals(1f, metrics.getCreateToBindRatio(MultipleItemTypeAdapter.TYPE_1));
+        LatencyHistogram binds = metrics.getBindHistogram(MultipleItemTypeAdapter.TYPE_2);
+        assertTrue(metrics.getBindPercentileNanos(MultipleItemTypeAdapter.TYPE_2, 50) <= binds.getMaxNanos());
+
+        // percentiles stay within one bucket of the recorded values
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        long median = histogram.getPercentileNanos(50);
+        assertTrue(median >= 500000 && median <= 500000 * 9 / 8);
+        assertEquals(1000000, histogram.getPercentileNanos(100));
+        assertEquals(500500, histogram.getMeanNanos());
+    }
+
+    private static void assertPooled(RecyclerView.RecycledViewPool pool, int viewType, int count, Class<?> type)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        int found = 0;
+        while (found < count && System.currentTimeMillis() < deadline) {
+            RecyclerView.ViewHolder viewHolder = pool.getRecycledView(viewType);
+            if (viewHolder != null) {
+                assertEquals(type, viewHolder.getClass());
+                found++;
+            } else {
+                Thread.sleep(10);
+            }
+        }
+        assertEquals(count, found);
+    }
 }
@@ -0,0 +1,89 @@
+package com.raizlabs.universaladapter;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Trace;
+
+/**
+ * Global toggle for {@link Trace} sections around the adapters' hot paths: creating and binding view holders,
+ * resolving the pieces of a merged adapter, computing diffs and dispatching change notifications. Sections show up
+ * in systrace and Perfetto named after the adapter class and view type. Tracing is off by default, in which case
+ * creating and binding holders only checks a single field of the adapter and the other hot paths only read
+ * {@link #isEnabled()}.
+ */
+public final class AdapterTrace {
+
+    // region Constants
+
+    /**
+     * The longest section name {@link Trace} accepts.
+     */
+    private static final int MAX_SECTION_NAME_LENGTH = 127;
+
+    // endregion Constants
+
+    // region Members
+
+    private static boolean enabled;
+
+    // endregion Members
+
+    // region Constructors
+
+    private AdapterTrace() {
+    }
+
+    // endregion Constructors
+
+    // region Accessors
+
+    /**
+     * Turns tracing on or off, typically once at startup. Has no effect before API 18, which has no {@link Trace}.
+     * Adapters fold this into their instrumentation when they are created and whenever their metrics listener or
+     * watchdog is set, so creating and binding holders is only traced for adapters created after tracing is turned on.
+     *
+     * @param enabled True to emit trace sections.
+     */
+    public static void setEnabled(boolean enabled) {
+        AdapterTrace.enabled = enabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    // endregion Accessors
+
+    // region Instance Methods
+
+    /**
+     * Begins a section, which must be ended on the same thread by {@link #endSection()}. Only call this when
+     * {@link #isEnabled()}, and build the name after checking so nothing is allocated when tracing is off.
+     * {@link #setEnabled(boolean)} keeps tracing off before API 18, so checking {@link #isEnabled()} is enough.
+     *
+     * @param name The name of the section.
+     */
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+    public static void beginSection(String name) {
+        Trace.beginSection(name.length() > MAX_SECTION_NAME_LENGTH ? name.substring(0, MAX_SECTION_NAME_LENGTH) : name);
+    }
+
+    /**
+     * Ends the section most recently begun on this thread.
+     */
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+    public static void endSection() {
+        Trace.endSection();
+    }
+
+    /**
+     * @return A short name for the class of the given object to use in section names.
+     */
+    public static String getName(Object object) {
+        Class<?> type = object.getClass();
+        String name = type.getSimpleName();
+        return name.isEmpty() ? type.getName() : name;
+    }
+
+    // endregion Instance Methods
+}
@@ -1,10 +1,18 @@
 package com.raizlabs.universaladapter;
 
+import android.os.Looper;
 import android.widget.Adapter;
 
 import com.raizlabs.coreutils.util.observable.lists.ObservableList;
+import com.raizlabs.coreutils.threading.ThreadingUtils;
 import com.raizlabs.coreutils.util.observable.lists.ObservableListWrapper;
 import com.raizlabs.universaladapter.converter.UniversalAdapter;
+import com.raizlabs.universaladapter.util.CancellationToken;
+import com.raizlabs.universaladapter.util.ChangeLog;
+import com.raizlabs.universaladapter.util.DiffStrategy;
+import com.raizlabs.universaladapter.util.ItemDiffCallback;
+import com.raizlabs.universaladapter.util.ListChangeListener;
+import com.raizlabs.universaladapter.util.ListEditor;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -13,6 +21,10 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Common base class implementation of a {@link Adapter} that is backed
@@ -26,9 +38,72 @@ import java.util.ListIterator;
 public abstract class ListBasedAdapter<Item, Holder extends ViewHolder> extends UniversalAdapter<Item, Holder>
         implements ObservableList<Item> {
 
+    // region Constants
+
+    /**
+     * Computes diffs for {@link #loadItemList(List, ItemDiffCallback)} one at a time, off the UI thread.
+     */
+    private static final ExecutorService DIFF_EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "UniversalAdapter-Diff");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    // endregion Constants
+
     // region Members
 
-    private List<Item> mList;
+    /**
+     * Reports the edits of {@link #listEditor} and the changes of published lists through this adapter's hooks.
+     */
+    private final ListChangeListener changeHooks = new ListChangeListener() {
+        @Override
+        public void onItemRangeChanged(int start, int count, Object payload) {
+            ListBasedAdapter.this.onItemRangeChanged(start, count, payload);
+        }
+
+        @Override
+        public void onItemRangeInserted(int start, int count) {
+            ListBasedAdapter.this.onItemRangeInserted(start, count);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int start, int count) {
+            ListBasedAdapter.this.onItemRangeRemoved(start, count);
+        }
+
+        @Override
+        public void onItemMoved(int fromPosition, int toPosition) {
+            ListBasedAdapter.this.onItemMoved(fromPosition, toPosition);
+        }
+
+        @Override
+        public void onGenericChange() {
+            ListBasedAdapter.this.onGenericChange();
+        }
+    };
+
+    /**
+     * Holds the list of items and reports every edit made through this adapter.
+     */
+    private final ListEditor<Item> listEditor = new ListEditor<>(null, changeHooks);
+
+    /**
+     * Incremented on every change to the list so a {@link BackgroundTransaction} can tell whether the list it copied
+     * is still the one being displayed.
+     */
+    private volatile int listVersion;
+
+    /**
+     * Incremented whenever a new list is loaded. A pending diff only publishes its result if no other list was loaded
+     * after it, and stops computing as soon as one is.
+     */
+    private final AtomicInteger loadGeneration = new AtomicInteger();
+
+    private volatile DiffStrategy diffStrategy = DiffStrategy.MYERS;
 
     // endregion Members
 
@@ -68,7 +143,22 @@ public abstract class ListBasedAdapter<Item, Holder extends ViewHolder> extends
      * @return The {@link List} of items in this adapter.
      */
     protected List<Item> getItemsList() {
-        return mList;
+        return listEditor.getList();
+    }
+
+    /**
+     * Sets the algorithm used by {@link #loadItemList(List, ItemDiffCallback)}. {@link DiffStrategy#HECKEL} is much
+     * faster for very large lists with unique keys and reports moves, {@link DiffStrategy#MYERS} finds the fewest
+     * changes. Defaults to {@link DiffStrategy#MYERS}.
+     *
+     * @param diffStrategy The strategy to use for subsequent loads.
+     */
+    public void setDiffStrategy(DiffStrategy diffStrategy) {
+        this.diffStrategy = diffStrategy;
+    }
+
+    public DiffStrategy getDiffStrategy() {
+        return diffStrategy;
     }
 
     // endregion Accessors
@@ -80,159 +170,167 @@ public abstract class ListBasedAdapter<Item, Holder extends ViewHolder> extends
         onGenericChange();
     }
 
+    @Override
+    protected void onItemRangeChanged(int startPosition, int itemCount, Object payload) {
+        listVersion++;
+        super.onItemRangeChanged(startPosition, itemCount, payload);
+    }
+
+    @Override
+    protected void onItemRangeInserted(int startPosition, int itemCount) {
+        listVersion++;
+        super.onItemRangeInserted(startPosition, itemCount);
+    }
+
+    @Override
+    protected void onItemRangeRemoved(int startPosition, int itemCount) {
+        listVersion++;
+        super.onItemRangeRemoved(startPosition, itemCount);
+    }
+
+    @Override
+    protected void onItemMoved(int fromPosition, int toPosition) {
+        listVersion++;
+        super.onItemMoved(fromPosition, toPosition);
+    }
+
+    @Override
+    protected void onGenericChange() {
+        listVersion++;
+        super.onGenericChange();
+    }
+
     @Override
     public int getCount() {
-        return mList.size();
+        return listEditor.getList().size();
     }
 
     @Override
     public void add(int location, Item object) {
-        mList.add(location, object);
-        onItemRangeInserted(location, 1);
+        listEditor.add(location, object);
     }
 
     @Override
     public boolean add(Item object) {
-        int location = mList.size();
-        final boolean result = mList.add(object);
-        onItemRangeInserted(location, 1);
-        return result;
+        return listEditor.add(object);
     }
 
     @Override
     public boolean addAll(int location, Collection<? extends Item> collection) {
-        if (mList.addAll(location, collection)) {
-            onItemRangeInserted(location, collection.size());
-            return true;
-        }
-        return false;
+        return listEditor.addAll(location, collection);
     }
 
     @Override
     public boolean addAll(Collection<? extends Item> collection) {
-        int location = mList.size();
-        if (mList.addAll(collection)) {
-            onItemRangeInserted(location, collection.size());
-            return true;
-        }
-        return false;
+        return listEditor.addAll(collection);
     }
 
     @Override
     public void clear() {
-        int count = size();
-        mList.clear();
-        onItemRangeRemoved(0, count);
+        listEditor.clear();
     }
 
     @Override
     public boolean contains(Object object) {
-        return mList.contains(object);
+        return listEditor.getList().contains(object);
     }
 
     @Override
     public boolean containsAll(Collection<?> collection) {
-        return mList.containsAll(collection);
+        return listEditor.getList().containsAll(collection);
     }
 
     @Override
     public Item get(int location) {
-        return mList.get(location);
+        return listEditor.getList().get(location);
     }
 
     @Override
     public int indexOf(Object object) {
-        return mList.indexOf(object);
+        return listEditor.getList().indexOf(object);
     }
 
     @Override
     public Iterator<Item> iterator() {
-        return mList.iterator();
+        return listEditor.getList().iterator();
     }
 
     @Override
     public int lastIndexOf(Object object) {
-        return mList.lastIndexOf(object);
+        return listEditor.getList().lastIndexOf(object);
     }
 
     @Override
     public ListIterator<Item> listIterator() {
-        return mList.listIterator();
+        return listEditor.getList().listIterator();
     }
 
     @Override
     public ListIterator<Item> listIterator(int location) {
-        return mList.listIterator();
+        return listEditor.getList().listIterator();
     }
 
     @Override
     public Item remove(int location) {
-        Item result = mList.remove(location);
-        onItemRangeRemoved(location, 1);
-        return result;
+        return listEditor.remove(location);
     }
 
     @Override
     public boolean remove(Object object) {
-        int location = mList.indexOf(object);
-        if (location >= 0) {
-            mList.remove(location);
-            onItemRangeRemoved(location, 1);
-            return true;
-        }
-        return false;
+        return listEditor.remove(object);
     }
 
     @Override
     public boolean removeAll(Collection<?> collection) {
-        boolean result = mList.removeAll(collection);
-        if (result) {
-            onGenericChange();
-        }
-        return result;
+        return listEditor.removeAll(collection);
     }
 
     @Override
     public boolean retainAll(Collection<?> collection) {
-        boolean result = mList.retainAll(collection);
-        if (result) {
-            onGenericChange();
-        }
-        return result;
+        return listEditor.retainAll(collection);
     }
 
     @Override
     public Item set(int location, Item object) {
-        Item result = mList.set(location, object);
-        if (!result.equals(object)) {
-            onItemRangeChanged(location, 1);
-        }
-        return result;
+        return listEditor.set(location, object);
+    }
+
+    /**
+     * Replaces the item at the given position and notifies the change with a payload, so converters that support
+     * it only rebind what the payload describes. See {@link #onBindViewHolder(ViewHolder, Object, int, List)}.
+     *
+     * @param location The position of the item to replace.
+     * @param object   The new item.
+     * @param payload  Describes the change, or null for a full bind.
+     * @return The item previously at the position.
+     */
+    public Item set(int location, Item object, Object payload) {
+        return listEditor.set(location, object, payload);
     }
 
     @Override
     public boolean isEmpty() {
-        return mList.isEmpty();
+        return listEditor.getList().isEmpty();
     }
 
     @Override
     public int size() {
-        return mList.size();
+        return listEditor.getList().size();
     }
 
     @Override
     public List<Item> subList(int start, int end) {
-        return mList.subList(start, end);
+        return listEditor.getList().subList(start, end);
     }
 
     @Override
     public Object[] toArray() {
-        return mList.toArray();
+        return listEditor.getList().toArray();
     }
 
     @Override
     public <S> S[] toArray(S[] array) {
-        return mList.toArray(array);
+        return listEditor.getList().toArray(array);
     }
 
     //endregion Inherited Methods
@@ -247,6 +345,35 @@ public abstract class ListBasedAdapter<Item, Holder extends ViewHolder> extends
         unbindList();
     }
 
+    /**
+     * Moves the item at one position to another, shifting the items in between. Listeners are notified of a single
+     * move rather than a removal and an insertion.
+     *
+     * @param fromPosition The position of the item to move.
+     * @param toPosition   The position the item should end up at.
+     */
+    public void move(int fromPosition, int toPosition) {
+        listEditor.move(fromPosition, toPosition);
+    }
+
+    /**
+     * Starts a transaction that edits a private copy of the current items. This must be called on the UI thread, where
+     * the list is modified, so the copy is consistent. The returned {@link BackgroundTransaction} may then be edited
+     * and committed from any thread; nothing is visible to {@link #getCount()} or {@link #get(int)} until
+     * {@link BackgroundTransaction#commit()} swaps the copy in on the UI thread and sends the coalesced changes.
+     *
+     * @return The new transaction.
+     * @throws IllegalStateException If called off the UI thread.
+     */
+    public BackgroundTransaction beginBackgroundTransaction() {
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            throw new IllegalStateException("Background transactions must begin on the UI thread!");
+        }
+        int version = listVersion;
+        return new BackgroundTransaction(new ArrayList<Item>(listEditor.getList()), version,
+                                         getTransactionCoalescingThreshold());
+    }
+
     /**
      * Loads the given varg array into a {@link List} into this adapter. See
      * {@link #notifyDataSetChangedOnUIThread()}.
@@ -269,6 +396,34 @@ public abstract class ListBasedAdapter<Item, Holder extends ViewHolder> extends
         setItemsList(list);
     }
 
+    /**
+     * Loads a copy of the given {@link List} into this adapter, diffing it against the current items on a background
+     * thread. Once the diff completes the new items are swapped in on the UI thread and only the items that were
+     * inserted, removed, moved or changed are notified, so unchanged rows are not rebound. See
+     * {@link #setDiffStrategy(DiffStrategy)} for the algorithm used. If this adapter is modified while the diff runs, the new items are loaded with a
+     * generic change instead. This may be called from any thread: the current items are copied on the UI thread.
+     * <p/>
+     * Loading another list before the diff completes supersedes it: the pending diff is abandoned, and lists that
+     * were superseded before their diff started are never diffed.
+     *
+     * @param list     The {@link List} to load.
+     * @param callback Decides which old and new items are the same and whether their contents changed.
+     */
+    public void loadItemList(List<? extends Item> list, ItemDiffCallback<? super Item> callback) {
+        diffItemsList(new ArrayList<Item>(list), callback);
+    }
+
+    /**
+     * Loads the given items as the contents of this adapter, diffing them against the current items. See
+     * {@link #loadItemList(List, ItemDiffCallback)}.
+     *
+     * @param items    The {@link Collection} of items to load.
+     * @param callback Decides which old and new items are the same and whether their contents changed.
+     */
+    public void loadItems(Collection<? extends Item> items, ItemDiffCallback<? super Item> callback) {
+        diffItemsList(new ArrayList<Item>(items), callback);
+    }
+
     /**
      * Loads the given {@link List} into this adapter and subscribes to updates.
      * This will use the same reference, so any changes to the source list will
@@ -295,8 +450,8 @@ public abstract class ListBasedAdapter<Item, Holder extends ViewHolder> extends
     }
 
     protected void unbindList() {
-        if (mList instanceof ObservableList<?>) {
-            ((ObservableList<Item>) mList).getListObserver().removeListener(observableListener);
+        if (listEditor.getList() instanceof ObservableList<?>) {
+            ((ObservableList<Item>) listEditor.getList()).getListObserver().removeListener(observableListener);
         }
     }
 
@@ -310,7 +465,10 @@ public abstract class ListBasedAdapter<Item, Holder extends ViewHolder> extends
         if (list == null) {
             list = new LinkedList<Item>();
         }
-        mList = list;
+        listEditor.setList(list);
+        listVersion++;
+        loadGeneration.incrementAndGet();
+        invalidatePositionCache();
         notifyDataSetChangedOnUIThread();
     }
 
@@ -327,6 +485,194 @@ public abstract class ListBasedAdapter<Item, Holder extends ViewHolder> extends
         setItemsList((List<Item>) list);
     }
 
+    /**
+     * Diffs the given list against a copy of the current items on {@link #DIFF_EXECUTOR} and publishes it. The copy
+     * is taken on the UI thread, where the list is modified, so this may be called from any thread.
+     */
+    private void diffItemsList(final List<Item> newList, final ItemDiffCallback<? super Item> callback) {
+        final int generation = loadGeneration.incrementAndGet();
+        final DiffStrategy strategy = diffStrategy;
+        final CancellationToken cancellation = new CancellationToken() {
+            @Override
+            public boolean isCancelled() {
+                return generation != loadGeneration.get();
+            }
+        };
+        ThreadingUtils.runOnUIThread(new Runnable() {
+            @Override
+            public void run() {
+                // Lists superseded before they were copied are never diffed.
+                if (!cancellation.isCancelled()) {
+                    startDiff(new ArrayList<Item>(listEditor.getList()), listVersion, newList, callback, strategy,
+                              cancellation);
+                }
+            }
+        });
+    }
+
+    /**
+     * Diffs a copy of the items taken at the given list version on {@link #DIFF_EXECUTOR}, then publishes the result
+     * on the UI thread unless it was cancelled.
+     */
+    private void startDiff(final List<Item> oldList, final int version, final List<Item> newList,
+                           final ItemDiffCallback<? super Item> callback, final DiffStrategy strategy,
+                           final CancellationToken cancellation) {
+        DIFF_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (cancellation.isCancelled()) {
+                    return;
+                }
+                boolean traced = AdapterTrace.isEnabled();
+                if (traced) {
+                    AdapterTrace.beginSection(AdapterTrace.getName(ListBasedAdapter.this) + ".diff " + strategy + " "
+                                                      + oldList.size() + " to " + newList.size());
+                }
+                final ChangeLog changeLog;
+                try {
+                    changeLog = strategy.diff(oldList, newList, callback, cancellation);
+                } finally {
+                    if (traced) {
+                        AdapterTrace.endSection();
+                    }
+                }
+                if (changeLog == null) {
+                    return;
+                }
+                ThreadingUtils.runOnUIThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (!cancellation.isCancelled()) {
+                            publishTransaction(newList, changeLog, version);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Swaps in the list of a committed {@link BackgroundTransaction} or a completed diff. The ranged changes are only
+     * replayed if nothing else changed this adapter since the list was copied, since they describe edits to that
+     * exact list.
+     */
+    private void publishTransaction(List<Item> list, ChangeLog changeLog, int version) {
+        boolean ranged = version == listVersion && !changeLog.isGeneric();
+        unbindList();
+        listEditor.setList(list);
+        if (ranged) {
+            changeLog.replay(changeHooks);
+        } else {
+            onGenericChange();
+        }
+    }
+
     // endregion Instance Methods
 
+    // region Inner Classes
+
+    /**
+     * A set of edits made to a private copy of a {@link ListBasedAdapter}'s items, typically on a background thread.
+     * All methods are synchronized so the transaction may be handed between threads. Once committed or cancelled it
+     * can no longer be edited.
+     */
+    public class BackgroundTransaction {
+
+        private final ChangeLog changeLog = new ChangeLog();
+        private final ListEditor<Item> workingList;
+        private final int version;
+        private boolean finished;
+
+        BackgroundTransaction(List<Item> workingList, int version, int threshold) {
+            this.workingList = new ListEditor<>(workingList, changeLog);
+            this.version = version;
+            changeLog.setThreshold(threshold);
+        }
+
+        public synchronized int size() {
+            return workingList.getList().size();
+        }
+
+        public synchronized Item get(int location) {
+            return workingList.getList().get(location);
+        }
+
+        public synchronized void add(Item object) {
+            ensureNotFinished();
+            workingList.add(object);
+        }
+
+        public synchronized void add(int location, Item object) {
+            ensureNotFinished();
+            workingList.add(location, object);
+        }
+
+        public synchronized void addAll(Collection<? extends Item> collection) {
+            ensureNotFinished();
+            workingList.addAll(collection);
+        }
+
+        public synchronized void addAll(int location, Collection<? extends Item> collection) {
+            ensureNotFinished();
+            workingList.addAll(location, collection);
+        }
+
+        public synchronized Item set(int location, Item object) {
+            ensureNotFinished();
+            return workingList.set(location, object);
+        }
+
+        public synchronized Item set(int location, Item object, Object payload) {
+            ensureNotFinished();
+            return workingList.set(location, object, payload);
+        }
+
+        public synchronized Item remove(int location) {
+            ensureNotFinished();
+            return workingList.remove(location);
+        }
+
+        public synchronized void move(int fromPosition, int toPosition) {
+            ensureNotFinished();
+            workingList.move(fromPosition, toPosition);
+        }
+
+        public synchronized void clear() {
+            ensureNotFinished();
+            workingList.clear();
+        }
+
+        /**
+         * Publishes the edited list and its changes to the adapter on the UI thread. If the adapter was changed
+         * some other way since this transaction began, the list is still published but listeners receive a generic
+         * change instead. Any diffed load still pending is abandoned.
+         */
+        public synchronized void commit() {
+            ensureNotFinished();
+            finished = true;
+            ThreadingUtils.runOnUIThread(new Runnable() {
+                @Override
+                public void run() {
+                    loadGeneration.incrementAndGet();
+                    publishTransaction(workingList.getList(), changeLog, version);
+                }
+            });
+        }
+
+        /**
+         * Discards every edit made in this transaction.
+         */
+        public synchronized void cancel() {
+            finished = true;
+        }
+
+        private void ensureNotFinished() {
+            if (finished) {
+                throw new IllegalStateException("Tried to edit a background transaction that already finished!");
+            }
+        }
+    }
+
+    // endregion Inner Classes
+
 }
@@ -0,0 +1,23 @@
+package com.raizlabs.universaladapter;
+
+import com.raizlabs.coreutils.util.observable.lists.ListObserver;
+import com.raizlabs.coreutils.util.observable.lists.ListObserverListener;
+
+/**
+ * A {@link ListObserverListener} which is also told when a single item moves. Listeners that don't implement this
+ * interface receive a move as a removal followed by an insertion.
+ *
+ * @param <Item> The type of item in the observed list.
+ * @see UniversalListObserver
+ */
+public interface ListObserverMoveListener<Item> extends ListObserverListener<Item> {
+
+    /**
+     * Called when the item at one position was moved to another.
+     *
+     * @param listObserver The observer which raised the event.
+     * @param fromPosition The position the item was at.
+     * @param toPosition   The position the item is at now.
+     */
+    void onItemMoved(ListObserver<Item> listObserver, int fromPosition, int toPosition);
+}
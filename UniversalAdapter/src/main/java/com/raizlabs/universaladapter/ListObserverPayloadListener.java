@@ -0,0 +1,24 @@
+package com.raizlabs.universaladapter;
+
+import com.raizlabs.coreutils.util.observable.lists.ListObserver;
+import com.raizlabs.coreutils.util.observable.lists.ListObserverListener;
+
+/**
+ * A {@link ListObserverListener} which also receives the payload describing a change, so it can rebind only the
+ * part of a view that changed. Listeners that don't implement this interface receive the change without its payload.
+ *
+ * @param <Item> The type of item in the observed list.
+ * @see UniversalListObserver
+ */
+public interface ListObserverPayloadListener<Item> extends ListObserverListener<Item> {
+
+    /**
+     * Called when a range of items changed in the way described by the payload.
+     *
+     * @param listObserver  The observer which raised the event.
+     * @param startPosition The first changed position.
+     * @param itemCount     The number of changed items.
+     * @param payload       Describes the change, or null if the items need a full bind.
+     */
+    void onItemRangeChanged(ListObserver<Item> listObserver, int startPosition, int itemCount, Object payload);
+}
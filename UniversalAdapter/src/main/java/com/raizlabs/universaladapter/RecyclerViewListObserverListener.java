@@ -9,11 +9,13 @@ import com.raizlabs.coreutils.util.observable.lists.ListObserverListener;
 
 /**
  * Helper class which delegates {@link ListObserverListener} calls back to a
- * {@link Adapter}.
+ * {@link Adapter}. Moves are forwarded as {@link Adapter#notifyItemMoved(int, int)} and change payloads as
+ * {@link Adapter#notifyItemRangeChanged(int, int, Object)}.
  *
  * @param <Item> The item type of the {@link ListObserverListener}.
  */
-public class RecyclerViewListObserverListener<Item> implements ListObserverListener<Item> {
+public class RecyclerViewListObserverListener<Item>
+        implements ListObserverMoveListener<Item>, ListObserverPayloadListener<Item> {
 
     private RecyclerView.Adapter<?> adapter;
 
@@ -37,6 +39,17 @@ public class RecyclerViewListObserverListener<Item> implements ListObserverListe
         });
     }
 
+    @Override
+    public void onItemRangeChanged(ListObserver<Item> observer, final int startPosition, final int itemCount,
+                                   final Object payload) {
+        ThreadingUtils.runOnUIThread(new Runnable() {
+            @Override
+            public void run() {
+                adapter.notifyItemRangeChanged(startPosition, itemCount, payload);
+            }
+        });
+    }
+
     @Override
     public void onItemRangeInserted(ListObserver<Item> observer, final int startPosition, final int itemCount) {
         ThreadingUtils.runOnUIThread(new Runnable() {
@@ -57,6 +70,16 @@ public class RecyclerViewListObserverListener<Item> implements ListObserverListe
         });
     }
 
+    @Override
+    public void onItemMoved(ListObserver<Item> observer, final int fromPosition, final int toPosition) {
+        ThreadingUtils.runOnUIThread(new Runnable() {
+            @Override
+            public void run() {
+                adapter.notifyItemMoved(fromPosition, toPosition);
+            }
+        });
+    }
+
     @Override
     public void onGenericChange(ListObserver<Item> observer) {
         ThreadingUtils.runOnUIThread(new Runnable() {
@@ -0,0 +1,19 @@
+package com.raizlabs.universaladapter;
+
+import com.raizlabs.coreutils.util.observable.lists.ListObserver;
+import com.raizlabs.coreutils.util.observable.lists.SimpleListObserverListener;
+
+/**
+ * A {@link SimpleListObserverListener} which also routes moves to {@link #onGenericChange(ListObserver)}, so a move
+ * causes one refresh instead of one for the removal and one for the insertion.
+ *
+ * @param <Item> The type of item in the observed list.
+ */
+public class SimpleListObserverMoveListener<Item> extends SimpleListObserverListener<Item>
+        implements ListObserverMoveListener<Item> {
+
+    @Override
+    public void onItemMoved(ListObserver<Item> listObserver, int fromPosition, int toPosition) {
+        onGenericChange(listObserver);
+    }
+}
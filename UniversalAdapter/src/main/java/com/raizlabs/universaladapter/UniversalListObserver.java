@@ -0,0 +1,181 @@
+package com.raizlabs.universaladapter;
+
+import com.raizlabs.coreutils.util.observable.lists.ListObserver;
+import com.raizlabs.coreutils.util.observable.lists.ListObserverListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link ListObserver} implementation which can also notify its listeners of moved items and change payloads.
+ * Listeners implementing {@link ListObserverMoveListener} receive moves directly; all other listeners receive a
+ * removal and an insertion. Only listeners implementing {@link ListObserverPayloadListener} receive payloads.
+ *
+ * @param <Item> The type of item in the observed list.
+ */
+public class UniversalListObserver<Item> implements ListObserver<Item> {
+
+    // region Members
+
+    private final List<ListObserverListener<Item>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The object whose changes are observed, or null if unknown.
+     */
+    private final Object owner;
+
+    private String traceName;
+
+    // endregion Members
+
+    // region Constructors
+
+    public UniversalListObserver() {
+        this(null);
+    }
+
+    /**
+     * @param owner The object whose changes are observed, such as an adapter. Its class names the trace sections of
+     *              the notifications, so those of different adapters can be told apart.
+     */
+    public UniversalListObserver(Object owner) {
+        this.owner = owner;
+    }
+
+    // endregion Constructors
+
+    // region Inherited Methods
+
+    @Override
+    public void addListener(ListObserverListener<Item> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public boolean removeListener(ListObserverListener<Item> listener) {
+        return listeners.remove(listener);
+    }
+
+    // endregion Inherited Methods
+
+    // region Instance Methods
+
+    public void notifyItemRangeChanged(int startPosition, int itemCount) {
+        notifyItemRangeChanged(startPosition, itemCount, null);
+    }
+
+    /**
+     * Notifies listeners that a range of items changed in the way described by the payload.
+     *
+     * @param startPosition The first changed position.
+     * @param itemCount     The number of changed items.
+     * @param payload       Describes the change, or null if the items need a full bind.
+     */
+    public void notifyItemRangeChanged(int startPosition, int itemCount, Object payload) {
+        boolean traced = AdapterTrace.isEnabled();
+        if (traced) {
+            AdapterTrace.beginSection(getTraceName() + ".notifyItemRangeChanged");
+        }
+        try {
+            for (ListObserverListener<Item> listener : listeners) {
+                if (listener instanceof ListObserverPayloadListener) {
+                    ((ListObserverPayloadListener<Item>) listener).onItemRangeChanged(this, startPosition, itemCount,
+                                                                                      payload);
+                } else {
+                    listener.onItemRangeChanged(this, startPosition, itemCount);
+                }
+            }
+        } finally {
+            if (traced) {
+                AdapterTrace.endSection();
+            }
+        }
+    }
+
+    public void notifyItemRangeInserted(int startPosition, int itemCount) {
+        boolean traced = AdapterTrace.isEnabled();
+        if (traced) {
+            AdapterTrace.beginSection(getTraceName() + ".notifyItemRangeInserted");
+        }
+        try {
+            for (ListObserverListener<Item> listener : listeners) {
+                listener.onItemRangeInserted(this, startPosition, itemCount);
+            }
+        } finally {
+            if (traced) {
+                AdapterTrace.endSection();
+            }
+        }
+    }
+
+    public void notifyItemRangeRemoved(int startPosition, int itemCount) {
+        boolean traced = AdapterTrace.isEnabled();
+        if (traced) {
+            AdapterTrace.beginSection(getTraceName() + ".notifyItemRangeRemoved");
+        }
+        try {
+            for (ListObserverListener<Item> listener : listeners) {
+                listener.onItemRangeRemoved(this, startPosition, itemCount);
+            }
+        } finally {
+            if (traced) {
+                AdapterTrace.endSection();
+            }
+        }
+    }
+
+    /**
+     * Notifies listeners that the item at one position was moved to another.
+     *
+     * @param fromPosition The position the item was at.
+     * @param toPosition   The position the item is at now.
+     */
+    public void notifyItemMoved(int fromPosition, int toPosition) {
+        boolean traced = AdapterTrace.isEnabled();
+        if (traced) {
+            AdapterTrace.beginSection(getTraceName() + ".notifyItemMoved");
+        }
+        try {
+            for (ListObserverListener<Item> listener : listeners) {
+                if (listener instanceof ListObserverMoveListener) {
+                    ((ListObserverMoveListener<Item>) listener).onItemMoved(this, fromPosition, toPosition);
+                } else {
+                    listener.onItemRangeRemoved(this, fromPosition, 1);
+                    listener.onItemRangeInserted(this, toPosition, 1);
+                }
+            }
+        } finally {
+            if (traced) {
+                AdapterTrace.endSection();
+            }
+        }
+    }
+
+    public void notifyGenericChange() {
+        boolean traced = AdapterTrace.isEnabled();
+        if (traced) {
+            AdapterTrace.beginSection(getTraceName() + ".notifyGenericChange");
+        }
+        try {
+            for (ListObserverListener<Item> listener : listeners) {
+                listener.onGenericChange(this);
+            }
+        } finally {
+            if (traced) {
+                AdapterTrace.endSection();
+            }
+        }
+    }
+
+    /**
+     * @return The name of the owner, or of this observer if it has none, in trace sections.
+     */
+    private String getTraceName() {
+        if (traceName == null) {
+            traceName = AdapterTrace.getName(owner != null ? owner : this);
+        }
+        return traceName;
+    }
+
+    // endregion Instance Methods
+}
@@ -0,0 +1,137 @@
+package com.raizlabs.universaladapter.converter;
+
+import android.util.SparseArray;
+
+import com.raizlabs.universaladapter.util.LatencyHistogram;
+
+import java.util.Arrays;
+
+/**
+ * {@link AdapterMetricsListener} which collects the create and bind durations of each view type into
+ * {@link LatencyHistogram}s. A histogram is allocated the first time a view type is seen, after which recording
+ * doesn't allocate. One instance may be shared by several adapters to get their combined numbers.
+ */
+public class AdapterMetrics implements AdapterMetricsListener {
+
+    // region Members
+
+    private final SparseArray<LatencyHistogram> createHistograms = new SparseArray<>();
+    private final SparseArray<LatencyHistogram> bindHistograms = new SparseArray<>();
+
+    // endregion Members
+
+    // region Accessors
+
+    /**
+     * @return The view types that were created or bound, in ascending order.
+     */
+    public synchronized int[] getViewTypes() {
+        int[] viewTypes = new int[createHistograms.size() + bindHistograms.size()];
+        int count = 0;
+        for (int i = 0; i < createHistograms.size(); i++) {
+            viewTypes[count++] = createHistograms.keyAt(i);
+        }
+        for (int i = 0; i < bindHistograms.size(); i++) {
+            if (createHistograms.get(bindHistograms.keyAt(i)) == null) {
+                viewTypes[count++] = bindHistograms.keyAt(i);
+            }
+        }
+        viewTypes = Arrays.copyOf(viewTypes, count);
+        Arrays.sort(viewTypes);
+        return viewTypes;
+    }
+
+    public synchronized long getCreateCount(int viewType) {
+        LatencyHistogram histogram = createHistograms.get(viewType);
+        return histogram != null ? histogram.getCount() : 0;
+    }
+
+    public synchronized long getBindCount(int viewType) {
+        LatencyHistogram histogram = bindHistograms.get(viewType);
+        return histogram != null ? histogram.getCount() : 0;
+    }
+
+    /**
+     * @param viewType   The view type, as reported to {@link AdapterMetricsListener}.
+     * @param percentile The percentile, from 0 to 100.
+     * @return The create duration of the view type at the percentile, or zero if none was created.
+     */
+    public synchronized long getCreatePercentileNanos(int viewType, double percentile) {
+        LatencyHistogram histogram = createHistograms.get(viewType);
+        return histogram != null ? histogram.getPercentileNanos(percentile) : 0;
+    }
+
+    /**
+     * @param viewType   The view type, as reported to {@link AdapterMetricsListener}.
+     * @param percentile The percentile, from 0 to 100.
+     * @return The bind duration of the view type at the percentile, or zero if none was bound.
+     */
+    public synchronized long getBindPercentileNanos(int viewType, double percentile) {
+        LatencyHistogram histogram = bindHistograms.get(viewType);
+        return histogram != null ? histogram.getPercentileNanos(percentile) : 0;
+    }
+
+    /**
+     * @param viewType The view type, as reported to {@link AdapterMetricsListener}.
+     * @return The number of holders created per bind of the view type. Close to zero when holders are recycled
+     * well, close to one when nearly every bind needed a new holder.
+     */
+    public synchronized float getCreateToBindRatio(int viewType) {
+        long bindCount = getBindCount(viewType);
+        return bindCount > 0 ? (float) getCreateCount(viewType) / bindCount : 0;
+    }
+
+    /**
+     * @return The create durations of the view type, or null if none was created. Only read it while holders are
+     * not being created.
+     */
+    public synchronized LatencyHistogram getCreateHistogram(int viewType) {
+        return createHistograms.get(viewType);
+    }
+
+    /**
+     * @return The bind durations of the view type, or null if none was bound. Only read it while holders are not
+     * being bound.
+     */
+    public synchronized LatencyHistogram getBindHistogram(int viewType) {
+        return bindHistograms.get(viewType);
+    }
+
+    // endregion Accessors
+
+    // region Inherited Methods
+
+    @Override
+    public synchronized void onViewHolderCreated(UniversalAdapter<?, ?> adapter, int viewType, long durationNanos) {
+        getHistogram(createHistograms, viewType).record(durationNanos);
+    }
+
+    @Override
+    public synchronized void onViewHolderBound(UniversalAdapter<?, ?> adapter, int viewType, int position,
+                                               long durationNanos) {
+        getHistogram(bindHistograms, viewType).record(durationNanos);
+    }
+
+    // endregion Inherited Methods
+
+    // region Instance Methods
+
+    /**
+     * Forgets every recorded duration.
+     */
+    public synchronized void reset() {
+        createHistograms.clear();
+        bindHistograms.clear();
+    }
+
+    private static LatencyHistogram getHistogram(SparseArray<LatencyHistogram> histograms, int viewType) {
+        LatencyHistogram histogram = histograms.get(viewType);
+        if (histogram == null) {
+            histogram = new LatencyHistogram();
+            histograms.put(viewType, histogram);
+        }
+        return histogram;
+    }
+
+    // endregion Instance Methods
+}
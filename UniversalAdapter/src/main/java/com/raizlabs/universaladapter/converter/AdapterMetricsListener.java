@@ -0,0 +1,42 @@
+package com.raizlabs.universaladapter.converter;
+
+/**
+ * Receives how long a {@link UniversalAdapter} took to create and bind each view holder, see
+ * {@link UniversalAdapter#setMetricsListener(AdapterMetricsListener)}. Called on the thread that created or bound
+ * the holder, which may be a background thread for pre-inflated holders.
+ *
+ * @see AdapterMetrics
+ */
+public interface AdapterMetricsListener {
+
+    /**
+     * The view type reported for header holders.
+     */
+    int VIEW_TYPE_HEADER = -1;
+
+    /**
+     * The view type reported for footer holders.
+     */
+    int VIEW_TYPE_FOOTER = -2;
+
+    /**
+     * Called after a view holder was created.
+     *
+     * @param adapter       The adapter which created the holder.
+     * @param viewType      The item view type, as returned from {@link UniversalAdapter#getItemViewType(int)}, or
+     *                      {@link #VIEW_TYPE_HEADER} or {@link #VIEW_TYPE_FOOTER}.
+     * @param durationNanos How long the holder took to create.
+     */
+    void onViewHolderCreated(UniversalAdapter<?, ?> adapter, int viewType, long durationNanos);
+
+    /**
+     * Called after a view holder was bound.
+     *
+     * @param adapter       The adapter which bound the holder.
+     * @param viewType      The item view type, as returned from {@link UniversalAdapter#getItemViewType(int)}, or
+     *                      {@link #VIEW_TYPE_HEADER} or {@link #VIEW_TYPE_FOOTER}.
+     * @param position      The position in the whole list, including headers and footers.
+     * @param durationNanos How long the holder took to bind.
+     */
+    void onViewHolderBound(UniversalAdapter<?, ?> adapter, int viewType, int position, long durationNanos);
+}
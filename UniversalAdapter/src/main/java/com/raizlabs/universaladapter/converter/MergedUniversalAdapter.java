@@ -3,31 +3,105 @@ package com.raizlabs.universaladapter.converter;
 import android.view.ViewGroup;
 
 import com.raizlabs.coreutils.util.observable.lists.ListObserver;
-import com.raizlabs.coreutils.util.observable.lists.ListObserverListener;
+import com.raizlabs.universaladapter.AdapterTrace;
+import com.raizlabs.universaladapter.ListObserverMoveListener;
+import com.raizlabs.universaladapter.ListObserverPayloadListener;
 import com.raizlabs.universaladapter.ViewHolder;
+import com.raizlabs.universaladapter.util.MergeIndex;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 /**
  * Merges adapters together into one large {@link UniversalAdapter}.
+ * <p/>
+ * A {@link MergedUniversalAdapter} without headers or footers that is added to another one is flattened: the outer
+ * adapter resolves positions and view types straight to the nested adapter's leaf adapters and listens to them
+ * directly, so resolution stays O(log leaves) and changes are forwarded in a single hop however deep the nesting is.
+ * Changes the nested adapter reports itself, e.g. through {@link #notifyItemRangeChanged(int, int, Object)}, are
+ * forwarded to the outer adapter as well.
+ * Since a flattened adapter can no longer take headers or footers, it is considered bound once added.
  */
 public class MergedUniversalAdapter extends UniversalAdapter {
 
     // region Constants
 
+    /**
+     * Item ids are namespaced by putting the id of their piece in the bits above this shift.
+     */
+    private static final int PIECE_ID_SHIFT = 48;
+
+    /**
+     * The bits of an item id that are kept from the child adapter's id.
+     */
+    private static final long ITEM_ID_MASK = (1L << PIECE_ID_SHIFT) - 1;
+
+    /**
+     * The bits available for a piece id above {@link #PIECE_ID_SHIFT}.
+     */
+    private static final int PIECE_ID_MASK = (1 << (Long.SIZE - PIECE_ID_SHIFT)) - 1;
+
+    /**
+     * The adapters added to this adapter, in order.
+     */
+    private final List<UniversalAdapter> childAdapters = new ArrayList<>();
+
+    /**
+     * One piece per leaf adapter, with nested merged adapters flattened into their own leaves.
+     */
     private final List<ListPiece> listPieces = new ArrayList<>();
 
+    /**
+     * The merged adapters this adapter has been flattened into.
+     */
+    private final List<MergedUniversalAdapter> parentAdapters = new ArrayList<>();
+
     // endregion Constants
 
+    // region Members
+
+    /**
+     * Resolves positions to the {@link ListPiece}s, indexed the same as {@link #listPieces}, and hands out their view
+     * types and piece ids. View types of removed pieces are handed out again, so {@link #getItemViewTypeCount()} stays
+     * bounded for converters that need a fixed count, while ids are not reused, since items of a removed piece may
+     * still be animating out when a new piece is added and must not share their ids.
+     */
+    private final MergeIndex<ListPiece> mergeIndex = new MergeIndex<>(PIECE_ID_MASK);
+
+    /**
+     * The index of the first {@link ListPiece} of each child adapter, indexed the same as {@link #childAdapters}.
+     */
+    private int[] childPieceStarts = new int[0];
+
+    /**
+     * The number of {@link ListPiece}s whose adapter doesn't have stable ids.
+     */
+    private int unstablePieceCount;
+
+    /**
+     * Greater than zero while a change of a {@link ListPiece} is being dispatched. Every adapter this adapter is
+     * flattened into listens to the leaves directly, so only changes made outside of this are forwarded to them.
+     */
+    private int pieceChangeDepth;
+
+    /**
+     * Receives the changes of every {@link ListPiece}, already offset to merged positions.
+     */
+    private final CascadingListObserver cascadingListObserver = new CascadingListObserver();
+
+    // endregion Members
+
     // region Inherited Methods
 
     @Override
     public void notifyDataSetChanged() {
+        rebuildPieces();
         onGenericChange();
-        recalculateStartPositions();
     }
 
     @SuppressWarnings("unchecked")
@@ -38,23 +112,24 @@ public class MergedUniversalAdapter extends UniversalAdapter {
         piece.adapter.bindViewHolder(viewHolder, adjusted);
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void onBindViewHolder(ViewHolder viewHolder, Object o, int position, List payloads) {
+        ListPiece piece = getPieceAt(position);
+        int adjusted = piece.getAdjustedItemPosition(position);
+        piece.adapter.bindViewHolder(viewHolder, adjusted, payloads);
+    }
+
     @Override
     protected ViewHolder onCreateViewHolder(ViewGroup parent, int itemType) {
         ViewHolder viewHolder = null;
+        int pieceIndex = mergeIndex.getViewTypePiece(itemType);
+        if (pieceIndex >= 0) {
+            ListPiece piece = listPieces.get(pieceIndex);
 
-        int typeOffset = 0;
-        for (ListPiece piece : listPieces) {
-
-            // offset is used to retrieve the specified item type from the inner adapter
+            // the local type is used to retrieve the specified item type from the inner adapter
             // since it has no knowledge of being part of this merged adapter.
-            int adapterItemType = itemType - typeOffset;
-            if (piece.hasViewType(adapterItemType)) {
-                viewHolder = piece.adapter.createViewHolder(parent, adapterItemType);
-                break;
-            }
-
-            // uses offset to calculate what the view type actually is, as offset by each adapter's viewtype amount.
-            typeOffset += piece.adapter.getInternalItemViewTypeCount();
+            viewHolder = piece.adapter.createViewHolder(parent, mergeIndex.getPieceViewType(itemType));
         }
         if (viewHolder == null) {
             throw new IllegalStateException("ViewHolder returned a null for itemType " + itemType);
@@ -64,40 +139,44 @@ public class MergedUniversalAdapter extends UniversalAdapter {
 
     @Override
     public int getItemViewTypeCount() {
-        int count = 0;
-        for (ListPiece listPiece : listPieces) {
-            count += listPiece.adapter.getInternalItemViewTypeCount();
-        }
-        return count;
+        return mergeIndex.getViewTypeCount();
     }
 
     @Override
-    public int getItemViewType(int position) {
-        int typeOffset = 0;
-        int result = -1;
-
-        for (ListPiece piece : listPieces) {
-            int size = piece.getCount();
-
-            if (position < size) {
-                result = typeOffset + piece.adapter.getInternalItemViewType(position);
-                break;
+    public Object getItemViewTypeKey(int itemViewType) {
+        int pieceIndex = mergeIndex.getViewTypePiece(itemViewType);
+        if (pieceIndex >= 0) {
+            UniversalAdapter adapter = listPieces.get(pieceIndex).adapter;
+            int localType = mergeIndex.getPieceViewType(itemViewType) - adapter.getHeadersCount();
+            if (localType >= 0 && localType < adapter.getItemViewTypeCount()) {
+                return adapter.getItemViewTypeKey(localType);
             }
+        }
+        return null;
+    }
 
-            position -= size;
-            typeOffset += piece.adapter.getInternalItemViewTypeCount();
+    @Override
+    public int getPreInflatedViewHolderCount(int itemViewType) {
+        int pieceIndex = mergeIndex.getViewTypePiece(itemViewType);
+        if (pieceIndex >= 0) {
+            UniversalAdapter adapter = listPieces.get(pieceIndex).adapter;
+            int localType = mergeIndex.getPieceViewType(itemViewType) - adapter.getHeadersCount();
+            if (localType >= 0 && localType < adapter.getItemViewTypeCount()) {
+                return adapter.getPreInflatedViewHolderCount(localType);
+            }
         }
+        return 0;
+    }
 
-        return result;
+    @Override
+    public int getItemViewType(int position) {
+        ListPiece piece = getPieceAt(position);
+        return piece != null ? mergeIndex.getViewType(piece.index, piece.getItemViewType(position)) : -1;
     }
 
     @Override
     public int getCount() {
-        int count = 0;
-        for (ListPiece piece : listPieces) {
-            count += piece.getCount();
-        }
-        return count;
+        return mergeIndex.getCount();
     }
 
     @Override
@@ -106,10 +185,27 @@ public class MergedUniversalAdapter extends UniversalAdapter {
         return piece.isEnabled(position);
     }
 
+    /**
+     * @return true if every piece has stable ids, in which case {@link #getItemId(int)} is stable as well.
+     */
+    @Override
+    public boolean hasStableIds() {
+        return !listPieces.isEmpty() && unstablePieceCount == 0;
+    }
+
+    /**
+     * Combines the id of the piece containing the position with the id its adapter reports, so equal ids from
+     * different pieces don't collide. The piece id takes the upper 16 bits, so child ids must fit within the lower
+     * 48 bits to stay unique.
+     *
+     * @param position The position within this adapter.
+     * @return The namespaced id of the item.
+     */
     @Override
     public long getItemId(int position) {
         ListPiece piece = getPieceAt(position);
-        return piece.getItemId(position);
+        long pieceId = mergeIndex.getPieceId(piece.index);
+        return (pieceId << PIECE_ID_SHIFT) | (piece.getItemId(position) & ITEM_ID_MASK);
     }
 
     @Override
@@ -118,6 +214,56 @@ public class MergedUniversalAdapter extends UniversalAdapter {
         return piece != null ? piece.getAdjustedItem(position) : null;
     }
 
+    @Override
+    protected void onItemRangeChanged(int startPosition, int itemCount, Object payload) {
+        super.onItemRangeChanged(startPosition, itemCount, payload);
+        if (pieceChangeDepth == 0) {
+            for (MergedUniversalAdapter parentAdapter : parentAdapters) {
+                parentAdapter.onNestedRangeChanged(this, startPosition, itemCount, payload);
+            }
+        }
+    }
+
+    @Override
+    protected void onItemRangeInserted(int startPosition, int itemCount) {
+        super.onItemRangeInserted(startPosition, itemCount);
+        if (pieceChangeDepth == 0) {
+            for (MergedUniversalAdapter parentAdapter : parentAdapters) {
+                parentAdapter.onNestedRangeInserted(this, startPosition, itemCount);
+            }
+        }
+    }
+
+    @Override
+    protected void onItemRangeRemoved(int startPosition, int itemCount) {
+        super.onItemRangeRemoved(startPosition, itemCount);
+        if (pieceChangeDepth == 0) {
+            for (MergedUniversalAdapter parentAdapter : parentAdapters) {
+                parentAdapter.onNestedRangeRemoved(this, startPosition, itemCount);
+            }
+        }
+    }
+
+    @Override
+    protected void onItemMoved(int fromPosition, int toPosition) {
+        super.onItemMoved(fromPosition, toPosition);
+        if (pieceChangeDepth == 0) {
+            for (MergedUniversalAdapter parentAdapter : parentAdapters) {
+                parentAdapter.onNestedItemMoved(this, fromPosition, toPosition);
+            }
+        }
+    }
+
+    @Override
+    protected void onGenericChange() {
+        super.onGenericChange();
+        if (pieceChangeDepth == 0) {
+            for (MergedUniversalAdapter parentAdapter : parentAdapters) {
+                parentAdapter.onNestedGenericChange();
+            }
+        }
+    }
+
     // endregion Inherited Methods
 
     // region Instance Methods
@@ -128,9 +274,7 @@ public class MergedUniversalAdapter extends UniversalAdapter {
      * @param adapter The adapter to add to this adapter
      */
     public void addAdapter(UniversalAdapter adapter) {
-        int count = getCount();
-        addAdapter(listPieces.size(), adapter);
-        onItemRangeInserted(count, listPieces.get(listPieces.size() - 1).getCount());
+        addAdapter(childAdapters.size(), adapter);
     }
 
     /**
@@ -140,12 +284,10 @@ public class MergedUniversalAdapter extends UniversalAdapter {
      */
     public void addAdapters(UniversalAdapter... adapters) {
         int count = getCount();
-        int totalCount = 0;
         for (UniversalAdapter adapter : adapters) {
-            addAdapter(listPieces.size(), adapter);
-            totalCount += listPieces.get(listPieces.size() - 1).getCount();
+            attachChildAdapter(childAdapters.size(), adapter);
         }
-        onItemRangeInserted(count, totalCount);
+        onItemRangeInserted(count, getCount() - count);
     }
 
     /**
@@ -154,19 +296,113 @@ public class MergedUniversalAdapter extends UniversalAdapter {
      * @param position The 0-based index position within adapters to add. If this is the 3rd adapter, the position is 2.
      * @param adapter  The adapter to add.
      */
-    @SuppressWarnings("unchecked")
-    void addAdapter(int position, UniversalAdapter adapter) {
-        int count = getCount();
+    public void addAdapter(int position, UniversalAdapter adapter) {
+        attachChildAdapter(position, adapter);
+        onItemRangeInserted(getChildStartPosition(position), adapter.getInternalCount());
+    }
+
+    /**
+     * Removes the adapter at the given index, notifying only the range it occupied.
+     *
+     * @param adapterIndex The index of the adapter within the adapters of this adapter.
+     * @return The adapter that was removed.
+     */
+    public UniversalAdapter removeAdapter(int adapterIndex) {
+        int start = getChildStartPosition(adapterIndex);
+        UniversalAdapter adapter = detachChildAdapter(adapterIndex);
+        onItemRangeRemoved(start, adapter.getInternalCount());
+        return adapter;
+    }
+
+    /**
+     * Removes the first occurrence of the given adapter, notifying only the range it occupied.
+     *
+     * @param adapter The adapter to remove.
+     * @return true if the adapter was part of this adapter and was removed.
+     */
+    public boolean removeAdapter(UniversalAdapter adapter) {
+        int adapterIndex = childAdapters.indexOf(adapter);
+        if (adapterIndex >= 0) {
+            removeAdapter(adapterIndex);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Swaps the adapter at the given index for another one. Listeners are told the old adapter's range was removed
+     * and the new adapter's range was inserted, so the rest of the list is left alone.
+     *
+     * @param adapterIndex The index of the adapter within the adapters of this adapter.
+     * @param adapter      The adapter to put in its place.
+     * @return The adapter that was replaced.
+     */
+    public UniversalAdapter replaceAdapter(int adapterIndex, UniversalAdapter adapter) {
+        int start = getChildStartPosition(adapterIndex);
+        checkCanAttach(adapter);
+        UniversalAdapter oldAdapter = detachChildAdapter(adapterIndex);
+        attachChildAdapter(adapterIndex, adapter);
+        onItemRangeRemoved(start, oldAdapter.getInternalCount());
+        onItemRangeInserted(start, adapter.getInternalCount());
+        return oldAdapter;
+    }
+
+    /**
+     * Moves an adapter to another index. Listeners are told its range was removed from its old position and
+     * inserted at its new one. Its pieces keep their view types and ids.
+     *
+     * @param fromIndex The current index of the adapter within the adapters of this adapter.
+     * @param toIndex   The index the adapter should end up at.
+     */
+    public void moveAdapter(int fromIndex, int toIndex) {
+        int fromStart = getChildStartPosition(fromIndex);
+        checkChildIndex(toIndex);
+        if (fromIndex == toIndex) {
+            return;
+        }
 
-        // create reference piece
-        ListPiece piece = new ListPiece(adapter, this);
-        listPieces.add(position, piece);
+        // The pieces and their start indexes only change between the two children.
+        int low = Math.min(fromIndex, toIndex);
+        int high = Math.max(fromIndex, toIndex);
+        int[] childPieceCounts = new int[high - low + 1];
+        for (int i = low; i <= high; i++) {
+            childPieceCounts[i - low] = getChildPieceEnd(i) - childPieceStarts[i];
+        }
+        int pieceStart = childPieceStarts[fromIndex];
+        int pieceCount = childPieceCounts[fromIndex - low];
+        int pieceTo = toIndex > fromIndex ? getChildPieceEnd(toIndex) - pieceCount : childPieceStarts[toIndex];
+
+        List<ListPiece> movedPieces = new ArrayList<>(listPieces.subList(pieceStart, pieceStart + pieceCount));
+        listPieces.subList(pieceStart, pieceStart + pieceCount).clear();
+        listPieces.addAll(pieceTo, movedPieces);
+        reindexPieces(Math.min(pieceStart, pieceTo), Math.max(pieceStart, pieceTo) + pieceCount);
+        mergeIndex.movePieces(pieceStart, pieceCount, pieceTo);
+
+        UniversalAdapter adapter = childAdapters.remove(fromIndex);
+        childAdapters.add(toIndex, adapter);
+        if (toIndex > fromIndex) {
+            System.arraycopy(childPieceCounts, 1, childPieceCounts, 0, high - low);
+            childPieceCounts[high - low] = pieceCount;
+        } else {
+            System.arraycopy(childPieceCounts, 0, childPieceCounts, 1, high - low);
+            childPieceCounts[0] = pieceCount;
+        }
+        int childPieceStart = childPieceStarts[low];
+        for (int i = low; i <= high; i++) {
+            childPieceStarts[i] = childPieceStart;
+            childPieceStart += childPieceCounts[i - low];
+        }
 
-        // set the starting point for it
-        piece.setStartPosition(count);
+        int count = adapter.getInternalCount();
+        onItemRangeRemoved(fromStart, count);
+        onItemRangeInserted(getChildStartPosition(toIndex), count);
+    }
 
-        // know what kind of item types the piece contains for faster item view type.
-        piece.initializeItemViewTypes();
+    /**
+     * @return The number of adapters added to this adapter.
+     */
+    public int getAdapterCount() {
+        return childAdapters.size();
     }
 
     /**
@@ -176,11 +412,24 @@ public class MergedUniversalAdapter extends UniversalAdapter {
      * @return The adapter that displays the specified position.
      */
     public ListPiece getPieceAt(int position) {
-        for (ListPiece piece : listPieces) {
-            if (piece.isPositionWithinAdapter(position)) {
-                return piece;
+        if (AdapterTrace.isEnabled()) {
+            AdapterTrace.beginSection(getTraceName() + ".getPieceAt");
+            try {
+                return findPieceAt(position);
+            } finally {
+                AdapterTrace.endSection();
             }
         }
+        return findPieceAt(position);
+    }
+
+    private ListPiece findPieceAt(int position) {
+        int index = mergeIndex.indexOf(position);
+        if (index >= 0) {
+            ListPiece piece = listPieces.get(index);
+            piece.setStartPosition(mergeIndex.getStartPosition(index));
+            return piece;
+        }
         return null;
     }
 
@@ -189,77 +438,399 @@ public class MergedUniversalAdapter extends UniversalAdapter {
      * @return The specified adapter from the adapterIndex.
      */
     public UniversalAdapter getAdapter(int adapterIndex) {
-        return listPieces.get(adapterIndex).adapter;
+        return childAdapters.get(adapterIndex);
+    }
+
+    /**
+     * @param adapter An adapter about to be added.
+     * @throws IllegalArgumentException If the adapter is this adapter or contains it.
+     */
+    private void checkCanAttach(UniversalAdapter adapter) {
+        if (adapter == this
+                || (adapter instanceof MergedUniversalAdapter && ((MergedUniversalAdapter) adapter).containsAdapter(this))) {
+            throw new IllegalArgumentException("Cannot add a MergedUniversalAdapter to itself or to one of its pieces.");
+        }
+    }
+
+    /**
+     * Adds the adapter to the list of children and inserts its pieces, leaving the pieces of the other children as
+     * they are.
+     *
+     * @param position The index within the children to add the adapter at.
+     * @param adapter  The adapter to add.
+     */
+    private void attachChildAdapter(int position, UniversalAdapter adapter) {
+        checkCanAttach(adapter);
+
+        childAdapters.add(position, adapter);
+        if (isFlattened(adapter)) {
+            MergedUniversalAdapter mergedAdapter = (MergedUniversalAdapter) adapter;
+            mergedAdapter.checkIfBoundAndSet();
+            if (!mergedAdapter.parentAdapters.contains(this)) {
+                mergedAdapter.parentAdapters.add(this);
+            }
+        }
+
+        List<UniversalAdapter> leafAdapters = new ArrayList<>();
+        collectLeafAdapters(adapter, leafAdapters);
+        List<ListPiece> newPieces = new ArrayList<>(leafAdapters.size());
+        for (UniversalAdapter leafAdapter : leafAdapters) {
+            newPieces.add(attachPiece(leafAdapter));
+        }
+
+        // The starts of the children from this one on still point at the pieces of the child it was inserted before.
+        int lastChild = childAdapters.size() - 1;
+        int pieceStart = position < lastChild ? childPieceStarts[position] : listPieces.size();
+        listPieces.addAll(pieceStart, newPieces);
+        reindexPieces(pieceStart, listPieces.size());
+        mergeIndex.insertPieces(pieceStart, newPieces);
+
+        if (childPieceStarts.length <= lastChild) {
+            childPieceStarts = Arrays.copyOf(childPieceStarts, Math.max(lastChild + 1, childPieceStarts.length * 2));
+        }
+        System.arraycopy(childPieceStarts, position, childPieceStarts, position + 1, lastChild - position);
+        childPieceStarts[position] = pieceStart;
+        for (int i = position + 1; i <= lastChild; i++) {
+            childPieceStarts[i] += newPieces.size();
+        }
+    }
+
+    /**
+     * Removes the adapter from the list of children and removes its pieces, leaving the pieces of the other children
+     * as they are.
+     *
+     * @param position The index of the adapter within the children.
+     * @return The adapter that was removed.
+     */
+    private UniversalAdapter detachChildAdapter(int position) {
+        int pieceStart = childPieceStarts[position];
+        int pieceCount = getChildPieceEnd(position) - pieceStart;
+        List<ListPiece> pieces = listPieces.subList(pieceStart, pieceStart + pieceCount);
+        for (ListPiece piece : pieces) {
+            detachPiece(piece);
+        }
+        pieces.clear();
+        reindexPieces(pieceStart, listPieces.size());
+        mergeIndex.removePieces(pieceStart, pieceCount);
+
+        UniversalAdapter adapter = childAdapters.remove(position);
+        int childCount = childAdapters.size();
+        System.arraycopy(childPieceStarts, position + 1, childPieceStarts, position, childCount - position);
+        for (int i = position; i < childCount; i++) {
+            childPieceStarts[i] -= pieceCount;
+        }
+
+        if (isFlattened(adapter) && !childAdapters.contains(adapter)) {
+            ((MergedUniversalAdapter) adapter).parentAdapters.remove(this);
+        }
+        return adapter;
+    }
+
+    /**
+     * @return A new piece for the leaf adapter, listening to its changes.
+     */
+    private ListPiece attachPiece(UniversalAdapter leafAdapter) {
+        ListPiece piece = new ListPiece(leafAdapter, this);
+        if (!piece.hasStableIds) {
+            unstablePieceCount++;
+        }
+        return piece;
+    }
+
+    private void detachPiece(ListPiece piece) {
+        piece.detach();
+        if (!piece.hasStableIds) {
+            unstablePieceCount--;
+        }
+    }
+
+    /**
+     * Brings the index of each piece in the range up to date after pieces were inserted, removed or moved.
+     */
+    private void reindexPieces(int fromIndex, int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            listPieces.get(i).index = i;
+        }
     }
 
     /**
-     * When data changes we need to update the starting positions of all adapters.
+     * @param adapter The adapter to look for.
+     * @return true if the adapter is a child of this adapter or of any nested merged adapter.
      */
-    private void recalculateStartPositions() {
-        int currentStartIndex = 0;
-        for (ListPiece listPiece : listPieces) {
-            listPiece.setStartPosition(currentStartIndex);
-            currentStartIndex += listPiece.getCount();
+    private boolean containsAdapter(UniversalAdapter adapter) {
+        for (UniversalAdapter childAdapter : childAdapters) {
+            if (childAdapter == adapter || (childAdapter instanceof MergedUniversalAdapter
+                    && ((MergedUniversalAdapter) childAdapter).containsAdapter(adapter))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rebuilds the flattened list of leaf pieces from the children, for when the leaves of a nested merged adapter
+     * changed in a way only it knows about. Pieces of adapters that are still leaves are reused so their listeners
+     * stay attached, and pieces of adapters that are gone are detached.
+     */
+    private void rebuildPieces() {
+        List<UniversalAdapter> leafAdapters = new ArrayList<>();
+        if (childPieceStarts.length < childAdapters.size()) {
+            childPieceStarts = new int[Math.max(childAdapters.size(), childPieceStarts.length * 2)];
+        }
+        for (int i = 0; i < childAdapters.size(); i++) {
+            childPieceStarts[i] = leafAdapters.size();
+            collectLeafAdapters(childAdapters.get(i), leafAdapters);
+        }
+
+        Map<UniversalAdapter, Deque<ListPiece>> existingPieces = new IdentityHashMap<>();
+        for (ListPiece piece : listPieces) {
+            Deque<ListPiece> pieces = existingPieces.get(piece.adapter);
+            if (pieces == null) {
+                pieces = new ArrayDeque<>();
+                existingPieces.put(piece.adapter, pieces);
+            }
+            pieces.add(piece);
+        }
+
+        listPieces.clear();
+        for (UniversalAdapter leafAdapter : leafAdapters) {
+            Deque<ListPiece> pieces = existingPieces.get(leafAdapter);
+            ListPiece piece = pieces != null ? pieces.poll() : null;
+            if (piece == null) {
+                piece = attachPiece(leafAdapter);
+            }
+            piece.index = listPieces.size();
+            listPieces.add(piece);
+        }
+
+        for (Deque<ListPiece> pieces : existingPieces.values()) {
+            for (ListPiece piece : pieces) {
+                detachPiece(piece);
+            }
+        }
+
+        mergeIndex.setPieces(listPieces);
+    }
+
+    /**
+     * @param nestedAdapter A child adapter of this adapter.
+     * @return The start position of the child within this adapter, or -1 if it is not a child or is added more
+     * than once.
+     */
+    private int getChildStartPosition(UniversalAdapter nestedAdapter) {
+        int childIndex = childAdapters.indexOf(nestedAdapter);
+        if (childIndex < 0 || childIndex != childAdapters.lastIndexOf(nestedAdapter)) {
+            return -1;
+        }
+        return getChildStartPosition(childIndex);
+    }
+
+    /**
+     * @param childIndex The index of a child adapter.
+     * @return The start position of the child within this adapter.
+     */
+    private int getChildStartPosition(int childIndex) {
+        checkChildIndex(childIndex);
+        return mergeIndex.getStartPosition(childPieceStarts[childIndex]);
+    }
+
+    /**
+     * @param childIndex The index of a child adapter.
+     * @return The index just past the last {@link ListPiece} of the child.
+     */
+    private int getChildPieceEnd(int childIndex) {
+        return childIndex + 1 < childAdapters.size() ? childPieceStarts[childIndex + 1] : listPieces.size();
+    }
+
+    private void checkChildIndex(int childIndex) {
+        if (childIndex < 0 || childIndex >= childAdapters.size()) {
+            throw new IndexOutOfBoundsException("Invalid adapter index " + childIndex + ", size is "
+                                                + childAdapters.size());
+        }
+    }
+
+    /**
+     * Called when a flattened child reported a change of its own, such as a change of its pieces or a direct
+     * notification. Changes within the leaves themselves are not routed through here since this adapter listens to
+     * the leaves directly.
+     */
+    private void onNestedRangeChanged(MergedUniversalAdapter nestedAdapter, int start, int count, Object payload) {
+        int childStart = getChildStartPosition(nestedAdapter);
+        if (childStart >= 0) {
+            onItemRangeChanged(childStart + start, count, payload);
+        } else {
+            onGenericChange();
+        }
+    }
+
+    private void onNestedRangeInserted(MergedUniversalAdapter nestedAdapter, int start, int count) {
+        rebuildPieces();
+        int childStart = getChildStartPosition(nestedAdapter);
+        if (childStart >= 0) {
+            onItemRangeInserted(childStart + start, count);
+        } else {
+            onGenericChange();
+        }
+    }
+
+    private void onNestedRangeRemoved(MergedUniversalAdapter nestedAdapter, int start, int count) {
+        rebuildPieces();
+        int childStart = getChildStartPosition(nestedAdapter);
+        if (childStart >= 0) {
+            onItemRangeRemoved(childStart + start, count);
+        } else {
+            onGenericChange();
+        }
+    }
+
+    private void onNestedItemMoved(MergedUniversalAdapter nestedAdapter, int fromPosition, int toPosition) {
+        int childStart = getChildStartPosition(nestedAdapter);
+        if (childStart >= 0) {
+            onItemMoved(childStart + fromPosition, childStart + toPosition);
+        } else {
+            onGenericChange();
+        }
+    }
+
+    private void onNestedGenericChange() {
+        rebuildPieces();
+        onGenericChange();
+    }
+
+    /**
+     * Brings the cached state of a single piece up to date after it reported a change, so its start position is
+     * current. Only a change in its count or view type count touches the shared tables, and a change in its view type
+     * count also drops the cached view types, which no longer match the piece's new merged view types.
+     *
+     * @param listPiece The piece that changed.
+     */
+    private void refreshPiece(ListPiece listPiece) {
+        if (mergeIndex.refresh(listPiece.index)) {
+            invalidatePositionCache();
+        }
+        listPiece.setStartPosition(mergeIndex.getStartPosition(listPiece.index));
+    }
+
+    /**
+     * @param adapter The child adapter.
+     * @return true if the adapter is a merged adapter whose pieces are resolved directly by its parents.
+     */
+    private static boolean isFlattened(UniversalAdapter adapter) {
+        return adapter instanceof MergedUniversalAdapter
+                && adapter.getHeadersCount() == 0 && adapter.getFootersCount() == 0;
+    }
+
+    private static void collectLeafAdapters(UniversalAdapter adapter, List<UniversalAdapter> leafAdapters) {
+        if (isFlattened(adapter)) {
+            for (UniversalAdapter childAdapter : ((MergedUniversalAdapter) adapter).childAdapters) {
+                collectLeafAdapters(childAdapter, leafAdapters);
+            }
+        } else {
+            leafAdapters.add(adapter);
         }
     }
 
     // endregion Instance Methods
 
-    // region Anonymous Classes
+    // region Inner Classes
 
     /**
      * Whenever a singular {@link ListPiece} changes, we refresh the adapter and notify content
      * changed.
      */
-    private final ListObserverListener cascadingListObserver = new ListObserverListener() {
+    private class CascadingListObserver implements ListObserverMoveListener, ListObserverPayloadListener {
+
         @Override
         public void onItemRangeChanged(ListObserver listObserver, int start, int count) {
-            MergedUniversalAdapter.this.onItemRangeChanged(start, count);
+            pieceChangeDepth++;
+            try {
+                MergedUniversalAdapter.this.onItemRangeChanged(start, count);
+            } finally {
+                pieceChangeDepth--;
+            }
         }
 
         @Override
         public void onItemRangeInserted(ListObserver listObserver, int start, int count) {
-            recalculateStartPositions();
-            MergedUniversalAdapter.this.onItemRangeInserted(start, count);
+            pieceChangeDepth++;
+            try {
+                MergedUniversalAdapter.this.onItemRangeInserted(start, count);
+            } finally {
+                pieceChangeDepth--;
+            }
         }
 
         @Override
         public void onItemRangeRemoved(ListObserver listObserver, int start, int count) {
-            recalculateStartPositions();
-            MergedUniversalAdapter.this.onItemRangeRemoved(start, count);
+            pieceChangeDepth++;
+            try {
+                MergedUniversalAdapter.this.onItemRangeRemoved(start, count);
+            } finally {
+                pieceChangeDepth--;
+            }
         }
 
         @Override
-        public void onGenericChange(ListObserver listObserver) {
-            recalculateStartPositions();
-            MergedUniversalAdapter.this.onGenericChange();
+        public void onItemMoved(ListObserver listObserver, int fromPosition, int toPosition) {
+            pieceChangeDepth++;
+            try {
+                MergedUniversalAdapter.this.onItemMoved(fromPosition, toPosition);
+            } finally {
+                pieceChangeDepth--;
+            }
         }
-    };
 
-    // endregion Anonymous Classes
+        @Override
+        public void onGenericChange(ListObserver listObserver) {
+            pieceChangeDepth++;
+            try {
+                MergedUniversalAdapter.this.onGenericChange();
+            } finally {
+                pieceChangeDepth--;
+            }
+        }
 
-    // region Inner Classes
+        @Override
+        public void onItemRangeChanged(ListObserver listObserver, int start, int count, Object payload) {
+            pieceChangeDepth++;
+            try {
+                MergedUniversalAdapter.this.onItemRangeChanged(start, count, payload);
+            } finally {
+                pieceChangeDepth--;
+            }
+        }
+    }
 
     /**
      * Struct that keeps track of each {@link UniversalAdapter} in this merged adapter.
      */
-    private static class ListPiece {
-
-        final Set<Integer> itemViewTypes = new HashSet<>();
+    private static class ListPiece implements MergeIndex.Piece {
 
         final UniversalAdapter adapter;
 
         final ForwardingChangeListener forwardingChangeListener;
 
         /**
-         * Position it starts at
+         * Whether the adapter had stable ids when the piece was created.
+         */
+        final boolean hasStableIds;
+
+        /**
+         * Position it starts at. Only current right after {@link MergedUniversalAdapter#getPieceAt(int)} or
+         * {@link MergedUniversalAdapter#refreshPiece(ListPiece)}, since it is resolved from the count tree on demand.
          */
         int startPosition;
 
+        /**
+         * The index of this piece within the merged adapter.
+         */
+        int index;
+
         @SuppressWarnings("unchecked")
         ListPiece(UniversalAdapter adapter, MergedUniversalAdapter mergedUniversalAdapter) {
             this.adapter = adapter;
-            forwardingChangeListener = new ForwardingChangeListener(this, mergedUniversalAdapter.cascadingListObserver);
+            hasStableIds = adapter.hasStableIds();
+            forwardingChangeListener = new ForwardingChangeListener(this, mergedUniversalAdapter);
         }
 
         // region Instance Methods
@@ -272,34 +843,52 @@ public class MergedUniversalAdapter extends UniversalAdapter {
             return adapter.getItemId(getAdjustedItemPosition(position));
         }
 
+        /**
+         * @return The internal view type of the position within the adapter of this piece.
+         */
+        int getItemViewType(int position) {
+            return adapter.getInternalItemViewType(getAdjustedItemPosition(position));
+        }
+
         public boolean hasViewType(int itemType) {
-            return itemViewTypes.contains(itemType);
+            return itemType >= 0 && itemType < adapter.getInternalItemViewTypeCount();
         }
 
         void setStartPosition(int position) {
             startPosition = position;
         }
 
-        /**
-         * Tracks the item view types of each adapter.
-         */
-        void initializeItemViewTypes() {
-            synchronized (itemViewTypes) {
-                itemViewTypes.clear();
-                for (int i = 0; i < getCount(); i++) {
-                    itemViewTypes.add(adapter.getInternalItemViewType(i));
-                }
-            }
+        @SuppressWarnings("unchecked")
+        void detach() {
+            adapter.getListObserver().removeListener(forwardingChangeListener);
         }
 
         boolean isPositionWithinAdapter(int position) {
             return position >= startPosition && position < (startPosition + getCount());
         }
 
-        int getCount() {
+        @Override
+        public int getCount() {
             return adapter.getInternalCount();
         }
 
+        @Override
+        public int getViewTypeCount() {
+            return adapter.getInternalItemViewTypeCount();
+        }
+
+        /**
+         * @return The key of the item view type, or null for headers and footers, which are never shared.
+         */
+        @Override
+        public Object getViewTypeKey(int viewType) {
+            int itemViewType = viewType - adapter.getHeadersCount();
+            if (itemViewType >= 0 && itemViewType < adapter.getItemViewTypeCount()) {
+                return adapter.getItemViewTypeKey(itemViewType);
+            }
+            return null;
+        }
+
         Object getAdjustedItem(int position) {
             return adapter.get(getAdjustedItemPosition(position));
         }
@@ -316,39 +905,55 @@ public class MergedUniversalAdapter extends UniversalAdapter {
      * Forwards internal adapter changes to the merged adapter.
      */
     @SuppressWarnings("unchecked")
-    private static class ForwardingChangeListener implements ListObserverListener {
+    private static class ForwardingChangeListener implements ListObserverMoveListener, ListObserverPayloadListener {
 
         private final ListPiece listPiece;
 
-        private final ListObserverListener listObserverListener;
+        private final MergedUniversalAdapter mergedUniversalAdapter;
+
+        private final CascadingListObserver listObserverListener;
 
-        private ForwardingChangeListener(ListPiece listPiece, ListObserverListener listObserverListener) {
+        private ForwardingChangeListener(ListPiece listPiece, MergedUniversalAdapter mergedUniversalAdapter) {
             this.listPiece = listPiece;
-            this.listObserverListener = listObserverListener;
+            this.mergedUniversalAdapter = mergedUniversalAdapter;
+            this.listObserverListener = mergedUniversalAdapter.cascadingListObserver;
             listPiece.adapter.getListObserver().addListener(this);
         }
 
         @Override
         public void onItemRangeChanged(ListObserver listObserver, int start, int count) {
-            listPiece.initializeItemViewTypes();
+            mergedUniversalAdapter.refreshPiece(listPiece);
             listObserverListener.onItemRangeChanged(listObserver, listPiece.startPosition + start, count);
         }
 
+        @Override
+        public void onItemRangeChanged(ListObserver listObserver, int start, int count, Object payload) {
+            mergedUniversalAdapter.refreshPiece(listPiece);
+            listObserverListener.onItemRangeChanged(listObserver, listPiece.startPosition + start, count, payload);
+        }
+
         @Override
         public void onItemRangeInserted(ListObserver listObserver, int start, int count) {
-            listPiece.initializeItemViewTypes();
+            mergedUniversalAdapter.refreshPiece(listPiece);
             listObserverListener.onItemRangeInserted(listObserver, listPiece.startPosition + start, count);
         }
 
         @Override
         public void onItemRangeRemoved(ListObserver listObserver, int start, int count) {
-            listPiece.initializeItemViewTypes();
+            mergedUniversalAdapter.refreshPiece(listPiece);
             listObserverListener.onItemRangeRemoved(listObserver, listPiece.startPosition + start, count);
         }
 
+        @Override
+        public void onItemMoved(ListObserver listObserver, int fromPosition, int toPosition) {
+            mergedUniversalAdapter.refreshPiece(listPiece);
+            listObserverListener.onItemMoved(listObserver, listPiece.startPosition + fromPosition,
+                                             listPiece.startPosition + toPosition);
+        }
+
         @Override
         public void onGenericChange(ListObserver listObserver) {
-            listPiece.initializeItemViewTypes();
+            mergedUniversalAdapter.refreshPiece(listPiece);
             listObserverListener.onGenericChange(listObserver);
         }
     }
@@ -9,7 +9,7 @@ import android.view.ViewGroup;
 import com.raizlabs.coreutils.threading.ThreadingUtils;
 import com.raizlabs.coreutils.util.observable.lists.ListObserver;
 import com.raizlabs.coreutils.util.observable.lists.ListObserverListener;
-import com.raizlabs.coreutils.util.observable.lists.SimpleListObserverListener;
+import com.raizlabs.universaladapter.SimpleListObserverMoveListener;
 import com.raizlabs.universaladapter.UniversalAdapterUtils;
 import com.raizlabs.universaladapter.ViewHolder;
 
@@ -176,7 +176,7 @@ public class PagerAdapterConverter<Item, Holder extends ViewHolder>
     };
 
 
-    private final ListObserverListener<Item> internalListObserverListener = new SimpleListObserverListener<Item>() {
+    private final ListObserverListener<Item> internalListObserverListener = new SimpleListObserverMoveListener<Item>() {
         @Override
         public void onGenericChange(ListObserver<Item> listObserver) {
             superNotifyDataSetChangedOnUIThread();
@@ -0,0 +1,187 @@
+package com.raizlabs.universaladapter.converter;
+
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseArray;
+
+/**
+ * Sizes the {@link RecyclerView.RecycledViewPool} of a {@link RecyclerViewAdapterConverter} from how each view type
+ * is used, instead of keeping {@link SharedRecycledViewPool#DEFAULT_MAX_RECYCLED_VIEWS} holders for every type.
+ * <p/>
+ * A view type keeps one more holder than the most of its holders ever attached at once, which covers a screen of
+ * that type scrolling out while the next row scrolls in. Whenever a holder has to be created although fewer holders
+ * are attached than at the peak, an older holder must have been dropped by the pool, so the type keeps one more.
+ * Counts never exceed the per-type limit, and when the total exceeds the overall limit the types bound least often
+ * give up holders first.
+ *
+ * @see RecyclerViewAdapterConverter#setRecycledViewPoolSizer(RecycledViewPoolSizer)
+ */
+public final class RecycledViewPoolSizer {
+
+    // region Members
+
+    private final SparseArray<TypeUsage> usages = new SparseArray<>();
+    private final int maxRecycledViewsPerType;
+    private final int maxRecycledViews;
+    private boolean changed;
+
+    // endregion Members
+
+    // region Constructors
+
+    /**
+     * @param maxRecycledViewsPerType The most holders kept for any one view type.
+     * @param maxRecycledViews        The most holders kept for all view types together.
+     */
+    public RecycledViewPoolSizer(int maxRecycledViewsPerType, int maxRecycledViews) {
+        this.maxRecycledViewsPerType = Math.max(maxRecycledViewsPerType, 1);
+        this.maxRecycledViews = maxRecycledViews;
+    }
+
+    // endregion Constructors
+
+    // region Accessors
+
+    /**
+     * @param viewType A view type reported to the {@link RecyclerView}.
+     * @return The number of holders of the view type created while the UI thread was waiting for them.
+     */
+    public int getCreateCount(int viewType) {
+        TypeUsage usage = usages.get(viewType);
+        return usage != null ? usage.createCount : 0;
+    }
+
+    /**
+     * @param viewType A view type reported to the {@link RecyclerView}.
+     * @return The number of times holders of the view type were bound.
+     */
+    public int getBindCount(int viewType) {
+        TypeUsage usage = usages.get(viewType);
+        return usage != null ? usage.bindCount : 0;
+    }
+
+    /**
+     * @param viewType A view type reported to the {@link RecyclerView}.
+     * @return The most holders of the view type attached to the window at once.
+     */
+    public int getPeakAttachedCount(int viewType) {
+        TypeUsage usage = usages.get(viewType);
+        return usage != null ? usage.peakAttachedCount : 0;
+    }
+
+    /**
+     * @param viewType A view type reported to the {@link RecyclerView}.
+     * @return The number of holders the pool keeps for the view type, or zero if it was never sized.
+     */
+    public int getMaxRecycledViews(int viewType) {
+        TypeUsage usage = usages.get(viewType);
+        return usage != null ? usage.maxRecycledViews : 0;
+    }
+
+    // endregion Accessors
+
+    // region Instance Methods
+
+    void onViewHolderCreated(int viewType) {
+        TypeUsage usage = getUsage(viewType);
+        usage.createCount++;
+        if (usage.attachedCount < usage.peakAttachedCount) {
+            usage.missCount++;
+            resize(usage);
+        }
+    }
+
+    void onViewHolderBound(int viewType) {
+        getUsage(viewType).bindCount++;
+    }
+
+    void onViewHolderAttached(int viewType) {
+        TypeUsage usage = getUsage(viewType);
+        usage.attachedCount++;
+        if (usage.attachedCount > usage.peakAttachedCount) {
+            usage.peakAttachedCount = usage.attachedCount;
+            resize(usage);
+        }
+    }
+
+    void onViewHolderDetached(int viewType) {
+        TypeUsage usage = getUsage(viewType);
+        if (usage.attachedCount > 0) {
+            usage.attachedCount--;
+        }
+    }
+
+    /**
+     * Sets the sizes computed since the last call on the pool.
+     *
+     * @param pool The pool of the {@link RecyclerView}.
+     */
+    void applyTo(RecyclerView.RecycledViewPool pool) {
+        if (!changed) {
+            return;
+        }
+        changed = false;
+        for (int i = 0; i < usages.size(); i++) {
+            TypeUsage usage = usages.valueAt(i);
+            if (usage.appliedMaxRecycledViews != usage.maxRecycledViews) {
+                pool.setMaxRecycledViews(usages.keyAt(i), usage.maxRecycledViews);
+                usage.appliedMaxRecycledViews = usage.maxRecycledViews;
+            }
+        }
+    }
+
+    private TypeUsage getUsage(int viewType) {
+        TypeUsage usage = usages.get(viewType);
+        if (usage == null) {
+            usage = new TypeUsage();
+            usages.put(viewType, usage);
+        }
+        return usage;
+    }
+
+    private void resize(TypeUsage usage) {
+        int target = Math.min(usage.peakAttachedCount + 1 + usage.missCount, maxRecycledViewsPerType);
+        if (target == usage.maxRecycledViews) {
+            return;
+        }
+        usage.maxRecycledViews = target;
+        changed = true;
+
+        // Over the overall limit, take holders from the types bound least often.
+        int total = 0;
+        for (int i = 0; i < usages.size(); i++) {
+            total += usages.valueAt(i).maxRecycledViews;
+        }
+        while (total > maxRecycledViews) {
+            TypeUsage coldest = null;
+            for (int i = 0; i < usages.size(); i++) {
+                TypeUsage candidate = usages.valueAt(i);
+                if (candidate.maxRecycledViews > 1
+                        && (coldest == null || candidate.bindCount < coldest.bindCount)) {
+                    coldest = candidate;
+                }
+            }
+            if (coldest == null) {
+                break;
+            }
+            coldest.maxRecycledViews--;
+            total--;
+        }
+    }
+
+    // endregion Instance Methods
+
+    // region Inner Classes
+
+    private static class TypeUsage {
+
+        int createCount;
+        int bindCount;
+        int attachedCount;
+        int peakAttachedCount;
+        int missCount;
+        int maxRecycledViews;
+        int appliedMaxRecycledViews = -1;
+    }
+
+    // endregion Inner Classes
+}
@@ -2,12 +2,15 @@ package com.raizlabs.universaladapter.converter;
 
 import android.support.annotation.NonNull;
 import android.support.v7.widget.RecyclerView;
+import android.util.SparseIntArray;
 import android.view.ViewGroup;
 
 import com.raizlabs.universaladapter.RecyclerViewItemClickListener;
 import com.raizlabs.universaladapter.RecyclerViewListObserverListener;
 import com.raizlabs.universaladapter.ViewHolder;
 
+import java.util.List;
+
 /**
  * Class which dynamically converts a {@link UniversalAdapter} into a
  * {@link RecyclerView.Adapter}. This keeps a binding to the
@@ -45,6 +48,15 @@ public class RecyclerViewAdapterConverter<Item, Holder extends ViewHolder>
     private UniversalAdapter<Item, Holder> universalAdapter;
     private RecyclerItemClickListener<Holder> recyclerItemClickListener;
     private RecyclerViewListObserverListener<Item> observerListener;
+    private RecyclerView recyclerView;
+    private ViewHolderPreInflater preInflater;
+
+    /**
+     * Translates view types to those of the shared pool, or null if the converter uses its own pool.
+     */
+    private SharedViewTypes sharedViewTypes;
+
+    private RecycledViewPoolSizer poolSizer;
 
     // endregion Members
 
@@ -78,6 +90,74 @@ public class RecyclerViewAdapterConverter<Item, Holder extends ViewHolder>
         this.recyclerItemClickListener = recyclerItemClickListener;
     }
 
+    /**
+     * Makes the bound {@link RecyclerView} use the given pool, shared with the other converters using it. Holders of
+     * item view types with a {@link UniversalAdapter#getItemViewTypeKey(int) key} are recycled across all of those
+     * lists. Call this before the {@link RecyclerView} is laid out.
+     *
+     * @param pool The pool to share, or null to go back to a pool of this list's own.
+     */
+    public void setSharedRecycledViewPool(SharedRecycledViewPool pool) {
+        if (recyclerView == null) {
+            throw new IllegalStateException("Call bindToRecyclerView() before sharing a recycled view pool.");
+        }
+        cancelPreInflation();
+        sharedViewTypes = pool != null ? new SharedViewTypes(pool, getAdapter()) : null;
+        recyclerView.setRecycledViewPool(pool);
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Sizes the recycled view pool of the bound {@link RecyclerView} per view type from the observed create and
+     * bind counts and the peak number of attached holders, within the limits of the given sizer. Any pre-inflated
+     * holders beyond the computed sizes are dropped when the sizes are applied.
+     *
+     * @param poolSizer The sizer to track usage with, or null to leave the pool sizes alone.
+     */
+    public void setRecycledViewPoolSizer(RecycledViewPoolSizer poolSizer) {
+        this.poolSizer = poolSizer;
+    }
+
+    public RecycledViewPoolSizer getRecycledViewPoolSizer() {
+        return poolSizer;
+    }
+
+    /**
+     * Creates the number of view holders returned by {@link UniversalAdapter#getPreInflatedViewHolderCount(int)}
+     * for each item view type and adds them to the {@link RecyclerView.RecycledViewPool} of the bound
+     * {@link RecyclerView}. See {@link #preInflateViewHolders(SparseIntArray)}.
+     */
+    public void preInflateViewHolders() {
+        UniversalAdapter<Item, Holder> adapter = getAdapter();
+        SparseIntArray targetCounts = new SparseIntArray();
+        for (int itemViewType = 0; itemViewType < adapter.getItemViewTypeCount(); itemViewType++) {
+            int count = adapter.getPreInflatedViewHolderCount(itemViewType);
+            if (count > 0) {
+                targetCounts.put(itemViewType, count);
+            }
+        }
+        preInflateViewHolders(targetCounts);
+    }
+
+    /**
+     * Creates view holders ahead of time and adds them to the {@link RecyclerView.RecycledViewPool} of the bound
+     * {@link RecyclerView}, so the first scroll doesn't inflate a view for every new row. Call this on the UI thread
+     * once the adapter is set up, before the first scroll. Holders are created on a worker thread if
+     * {@link UniversalAdapter#isBackgroundInflationEnabled()}, otherwise one at a time while the UI thread is idle.
+     * Calling this again, changing the adapter, or {@link #cleanup()} stops any pre-inflation still running.
+     *
+     * @param targetCounts The number of holders to create by item view type, as returned from
+     *                     {@link UniversalAdapter#getItemViewType(int)}.
+     */
+    public void preInflateViewHolders(SparseIntArray targetCounts) {
+        if (recyclerView == null) {
+            throw new IllegalStateException("Call bindToRecyclerView() before pre-inflating view holders.");
+        }
+        cancelPreInflation();
+        preInflater = new ViewHolderPreInflater(this, recyclerView, targetCounts);
+        preInflater.start();
+    }
+
     // endregion Instance Methods
 
     // region Inherited Methods
@@ -119,6 +199,7 @@ public class RecyclerViewAdapterConverter<Item, Holder extends ViewHolder>
 
     @Override
     public void cleanup() {
+        cancelPreInflation();
         getAdapter().getListObserver().removeListener(observerListener);
     }
 
@@ -128,6 +209,10 @@ public class RecyclerViewAdapterConverter<Item, Holder extends ViewHolder>
         if (getAdapter() != null) {
             getAdapter().getListObserver().removeListener(observerListener);
         }
+        cancelPreInflation();
+        if (sharedViewTypes != null) {
+            sharedViewTypes = new SharedViewTypes(sharedViewTypes.getPool(), listAdapter);
+        }
 
         this.universalAdapter = listAdapter;
         // Add a listener which will delegate list observer calls back to us
@@ -142,7 +227,7 @@ public class RecyclerViewAdapterConverter<Item, Holder extends ViewHolder>
 
     @Override
     public int getItemViewType(int position) {
-        return getAdapter().getInternalItemViewType(position);
+        return toRecyclerViewType(getAdapter().getInternalItemViewType(position));
     }
 
     @Override
@@ -152,11 +237,45 @@ public class RecyclerViewAdapterConverter<Item, Holder extends ViewHolder>
 
     @Override
     public void onBindViewHolder(RecyclerView.ViewHolder viewHolder, int position) {
+        if (poolSizer != null) {
+            poolSizer.onViewHolderBound(viewHolder.getItemViewType());
+        }
         getAdapter().bindViewHolder((ViewHolder) viewHolder, position);
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public void onBindViewHolder(RecyclerView.ViewHolder viewHolder, int position, List payloads) {
+        if (poolSizer != null) {
+            poolSizer.onViewHolderBound(viewHolder.getItemViewType());
+        }
+        getAdapter().bindViewHolder((ViewHolder) viewHolder, position, payloads);
+    }
+
+    @Override
+    public void onViewAttachedToWindow(RecyclerView.ViewHolder viewHolder) {
+        if (poolSizer != null && recyclerView != null) {
+            poolSizer.onViewHolderAttached(viewHolder.getItemViewType());
+            poolSizer.applyTo(recyclerView.getRecycledViewPool());
+        }
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(RecyclerView.ViewHolder viewHolder) {
+        if (poolSizer != null) {
+            poolSizer.onViewHolderDetached(viewHolder.getItemViewType());
+        }
+    }
+
     @Override
     public ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        if (poolSizer != null && recyclerView != null && !ViewHolderPreInflater.isPreInflating()) {
+            poolSizer.onViewHolderCreated(viewType);
+            poolSizer.applyTo(recyclerView.getRecycledViewPool());
+        }
+        if (sharedViewTypes != null) {
+            viewType = sharedViewTypes.toViewType(viewType);
+        }
         return getAdapter().createViewHolder(parent, viewType);
     }
 
@@ -175,11 +294,27 @@ public class RecyclerViewAdapterConverter<Item, Holder extends ViewHolder>
      */
     public void bindToRecyclerView(RecyclerView recyclerView) {
         if (recyclerView != null) {
+            this.recyclerView = recyclerView;
             recyclerView.setAdapter(this);
             recyclerView.addOnItemTouchListener(internalOnItemTouchListener);
         }
     }
 
+    /**
+     * @param viewType An internal view type of the adapter.
+     * @return The view type reported to the {@link RecyclerView} for it.
+     */
+    int toRecyclerViewType(int viewType) {
+        return sharedViewTypes != null ? sharedViewTypes.toPoolViewType(viewType) : viewType;
+    }
+
+    private void cancelPreInflation() {
+        if (preInflater != null) {
+            preInflater.cancel();
+            preInflater = null;
+        }
+    }
+
     // region Anonymous Classes
 
     private final RecyclerViewItemClickListener internalOnItemTouchListener = new RecyclerViewItemClickListener() {
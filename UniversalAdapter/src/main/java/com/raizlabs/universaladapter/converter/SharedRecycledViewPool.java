@@ -0,0 +1,112 @@
+package com.raizlabs.universaladapter.converter;
+
+import android.support.v7.widget.RecyclerView;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link RecyclerView.RecycledViewPool} shared by several {@link RecyclerViewAdapterConverter}s, such as the lists
+ * of different tabs or nested carousels showing the same rows. Item view types are pooled by their
+ * {@link UniversalAdapter#getItemViewTypeKey(int) key}, so a holder recycled by one list can be bound by any other
+ * list showing an item type with an equal key. Headers, footers and item types without a key get a view type of
+ * their own and are never shared.
+ * <p/>
+ * Every view type keeps at most {@link #getDefaultMaxRecycledViews()} holders unless told otherwise, and never more
+ * than {@link #getMaxRecycledViewsLimit()}, so the memory held by the pool stays bounded however many lists use it.
+ *
+ * @see RecyclerViewAdapterConverter#setSharedRecycledViewPool(SharedRecycledViewPool)
+ */
+public class SharedRecycledViewPool extends RecyclerView.RecycledViewPool {
+
+    // region Constants
+
+    /**
+     * The number of holders per view type a {@link RecyclerView.RecycledViewPool} keeps unless told otherwise.
+     */
+    public static final int DEFAULT_MAX_RECYCLED_VIEWS = 5;
+
+    // endregion Constants
+
+    // region Members
+
+    private final Map<Object, Integer> keyedViewTypes = new HashMap<>();
+    private final int defaultMaxRecycledViews;
+    private final int maxRecycledViewsLimit;
+    private int nextViewType;
+
+    // endregion Members
+
+    // region Constructors
+
+    public SharedRecycledViewPool() {
+        this(DEFAULT_MAX_RECYCLED_VIEWS, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param defaultMaxRecycledViews The number of holders kept per view type unless
+     *                                {@link #setMaxRecycledViews(int, int)} is called for it.
+     * @param maxRecycledViewsLimit   The most holders ever kept per view type.
+     */
+    public SharedRecycledViewPool(int defaultMaxRecycledViews, int maxRecycledViewsLimit) {
+        this.maxRecycledViewsLimit = maxRecycledViewsLimit;
+        this.defaultMaxRecycledViews = Math.min(defaultMaxRecycledViews, maxRecycledViewsLimit);
+    }
+
+    // endregion Constructors
+
+    // region Accessors
+
+    public int getDefaultMaxRecycledViews() {
+        return defaultMaxRecycledViews;
+    }
+
+    public int getMaxRecycledViewsLimit() {
+        return maxRecycledViewsLimit;
+    }
+
+    /**
+     * @param key The key of an item view type, see {@link UniversalAdapter#getItemViewTypeKey(int)}.
+     * @return The view type holders for the key are pooled under.
+     */
+    public synchronized int getViewType(Object key) {
+        Integer viewType = keyedViewTypes.get(key);
+        if (viewType == null) {
+            viewType = newViewType();
+            keyedViewTypes.put(key, viewType);
+        }
+        return viewType;
+    }
+
+    /**
+     * Sets the number of holders kept for the view type, capped at {@link #getMaxRecycledViewsLimit()}.
+     */
+    @Override
+    public void setMaxRecycledViews(int viewType, int max) {
+        super.setMaxRecycledViews(viewType, Math.min(max, maxRecycledViewsLimit));
+    }
+
+    /**
+     * Sets the number of holders kept for the item view type with the given key.
+     *
+     * @see #setMaxRecycledViews(int, int)
+     */
+    public void setMaxRecycledViews(Object key, int max) {
+        setMaxRecycledViews(getViewType(key), max);
+    }
+
+    // endregion Accessors
+
+    // region Instance Methods
+
+    /**
+     * @return A view type used by no other holders, for a header, footer or item type that isn't shared.
+     */
+    synchronized int newViewType() {
+        int viewType = nextViewType++;
+        super.setMaxRecycledViews(viewType, defaultMaxRecycledViews);
+        return viewType;
+    }
+
+    // endregion Instance Methods
+}
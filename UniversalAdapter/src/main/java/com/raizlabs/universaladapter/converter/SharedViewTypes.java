@@ -0,0 +1,157 @@
+package com.raizlabs.universaladapter.converter;
+
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+
+import com.raizlabs.universaladapter.ViewHolder;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Translates the internal view types of a {@link UniversalAdapter}, which are offset by its header count and only
+ * unique within the adapter, to the view types of a {@link SharedRecycledViewPool} and back. Only used on the UI
+ * thread by the adapter it belongs to, so just the keyed view types shared across adapters are guarded, by the pool.
+ */
+final class SharedViewTypes {
+
+    // region Members
+
+    private final SharedRecycledViewPool pool;
+    private final UniversalAdapter adapter;
+
+    /**
+     * Pool view types by item view type.
+     */
+    private final SparseIntArray itemViewTypes = new SparseIntArray();
+
+    /**
+     * The {@link UniversalAdapter#getItemViewTypeKey(int) key} each item view type in {@link #itemViewTypes} was
+     * pooled by, or null if it has a pool view type of its own. An item view type whose key changed since, such as one
+     * a merged adapter now gives to another piece, is pooled again.
+     */
+    private final SparseArray<Object> itemViewTypeKeys = new SparseArray<>();
+
+    /**
+     * Pool view types by header or footer holder.
+     */
+    private final Map<ViewHolder, Integer> fixedViewTypes = new IdentityHashMap<>();
+
+    /**
+     * The item view type, as an {@link Integer}, or the header or footer holder for each pool view type. An item view
+     * type that no longer has its pool view type is replaced by one that does when a holder is created.
+     */
+    private final SparseArray<Object> sources = new SparseArray<>();
+
+    // endregion Members
+
+    // region Constructors
+
+    SharedViewTypes(SharedRecycledViewPool pool, UniversalAdapter adapter) {
+        this.pool = pool;
+        this.adapter = adapter;
+    }
+
+    // endregion Constructors
+
+    // region Accessors
+
+    SharedRecycledViewPool getPool() {
+        return pool;
+    }
+
+    // endregion Accessors
+
+    // region Instance Methods
+
+    /**
+     * @param viewType An internal view type of the adapter.
+     * @return The view type holders of that type are pooled under.
+     */
+    int toPoolViewType(int viewType) {
+        ViewHolder fixedHolder = adapter.getFixedViewHolder(viewType);
+        if (fixedHolder != null) {
+            Integer poolViewType = fixedViewTypes.get(fixedHolder);
+            if (poolViewType == null) {
+                poolViewType = pool.newViewType();
+                fixedViewTypes.put(fixedHolder, poolViewType);
+                sources.put(poolViewType, fixedHolder);
+            }
+            return poolViewType;
+        }
+
+        int itemViewType = viewType - adapter.getHeadersCount();
+        Object key = adapter.getItemViewTypeKey(itemViewType);
+        int index = itemViewTypes.indexOfKey(itemViewType);
+        if (index >= 0 && isSameKey(key, itemViewTypeKeys.get(itemViewType))) {
+            return itemViewTypes.valueAt(index);
+        }
+
+        if (index >= 0 && itemViewTypeKeys.get(itemViewType) == null) {
+            // Nothing else is pooled under the item view type's own pool view type, so drop its holders.
+            int retiredViewType = itemViewTypes.valueAt(index);
+            pool.setMaxRecycledViews(retiredViewType, 0);
+            sources.remove(retiredViewType);
+        }
+        int poolViewType = key != null ? pool.getViewType(key) : pool.newViewType();
+        itemViewTypes.put(itemViewType, poolViewType);
+        itemViewTypeKeys.put(itemViewType, key);
+        if (sources.get(poolViewType) == null) {
+            sources.put(poolViewType, itemViewType);
+        }
+        return poolViewType;
+    }
+
+    /**
+     * @param poolViewType A view type returned from {@link #toPoolViewType(int)}.
+     * @return The internal view type of the adapter to create a holder for it.
+     */
+    int toViewType(int poolViewType) {
+        Object source = sources.get(poolViewType);
+        if (source instanceof ViewHolder) {
+            return adapter.getFixedViewType((ViewHolder) source);
+        } else if (source != null) {
+            int itemViewType = (Integer) source;
+            if (!isPooledUnder(itemViewType, poolViewType)) {
+                itemViewType = findItemViewType(poolViewType);
+            }
+            if (itemViewType >= 0) {
+                return itemViewType + adapter.getHeadersCount();
+            }
+        }
+        throw new IllegalStateException("Unknown view type " + poolViewType);
+    }
+
+    /**
+     * @return True if the item view type is still pooled under the pool view type by its current key.
+     */
+    private boolean isPooledUnder(int itemViewType, int poolViewType) {
+        int index = itemViewTypes.indexOfKey(itemViewType);
+        return index >= 0 && itemViewTypes.valueAt(index) == poolViewType
+                && isSameKey(adapter.getItemViewTypeKey(itemViewType), itemViewTypeKeys.get(itemViewType));
+    }
+
+    /**
+     * Finds another item view type to create holders of the pool view type for, since the one it was pooled by has
+     * changed its key, and makes it the source of the pool view type.
+     *
+     * @return The item view type, or -1 if none is pooled under the pool view type any more.
+     */
+    private int findItemViewType(int poolViewType) {
+        for (int i = 0; i < itemViewTypes.size(); i++) {
+            int itemViewType = itemViewTypes.keyAt(i);
+            if (isPooledUnder(itemViewType, poolViewType)) {
+                sources.put(poolViewType, itemViewType);
+                return itemViewType;
+            }
+        }
+        sources.remove(poolViewType);
+        return -1;
+    }
+
+    private static boolean isSameKey(Object key, Object pooledKey) {
+        return key == null ? pooledKey == null : key.equals(pooledKey);
+    }
+
+    // endregion Instance Methods
+}
@@ -0,0 +1,122 @@
+package com.raizlabs.universaladapter.converter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flags single view holder creates and binds that take longer than a budget, so expensive rows are caught before
+ * they make frames miss their deadline. At 60 Hz a frame has about 16 ms for everything, so a few milliseconds for a
+ * single row is already a lot. Reports are rate limited so a slow list doesn't flood the {@link Listener}.
+ *
+ * @see UniversalAdapter#setSlowBindWatchdog(SlowBindWatchdog)
+ */
+public class SlowBindWatchdog implements AdapterMetricsListener {
+
+    // region Constants
+
+    public static final long DEFAULT_BUDGET_MILLIS = 4;
+    public static final long DEFAULT_MIN_REPORT_INTERVAL_MILLIS = 1000;
+
+    /**
+     * The position reported for slow creates, which aren't tied to a position.
+     */
+    public static final int NO_POSITION = -1;
+
+    // endregion Constants
+
+    // region Interface Declarations
+
+    /**
+     * Receives the creates and binds that went over budget.
+     */
+    public interface Listener {
+
+        /**
+         * Called on the thread that created or bound the holder, at most once per report interval.
+         *
+         * @param adapter         The adapter which created or bound the holder.
+         * @param viewType        The view type, as reported to {@link AdapterMetricsListener}.
+         * @param position        The position in the whole list, or {@link #NO_POSITION} for a create.
+         * @param durationNanos   How long the call took.
+         * @param bind            True for a bind, false for a create.
+         * @param suppressedCount The number of slow calls not reported since the last report.
+         */
+        void onSlowCall(UniversalAdapter<?, ?> adapter, int viewType, int position, long durationNanos, boolean bind,
+                        int suppressedCount);
+    }
+
+    // endregion Interface Declarations
+
+    // region Members
+
+    private final Listener listener;
+    private final long budgetNanos;
+    private final long minReportIntervalNanos;
+
+    private long lastReportNanos;
+    private boolean reported;
+    private int suppressedCount;
+
+    // endregion Members
+
+    // region Constructors
+
+    /**
+     * Creates a watchdog with a budget of {@link #DEFAULT_BUDGET_MILLIS} reporting at most once every
+     * {@link #DEFAULT_MIN_REPORT_INTERVAL_MILLIS}.
+     */
+    public SlowBindWatchdog(Listener listener) {
+        this(listener, DEFAULT_BUDGET_MILLIS, DEFAULT_MIN_REPORT_INTERVAL_MILLIS);
+    }
+
+    /**
+     * @param listener                Receives the slow calls.
+     * @param budgetMillis            Calls taking longer than this are reported.
+     * @param minReportIntervalMillis The least time between two reports.
+     */
+    public SlowBindWatchdog(Listener listener, long budgetMillis, long minReportIntervalMillis) {
+        this.listener = listener;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.minReportIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minReportIntervalMillis);
+    }
+
+    // endregion Constructors
+
+    // region Inherited Methods
+
+    @Override
+    public void onViewHolderCreated(UniversalAdapter<?, ?> adapter, int viewType, long durationNanos) {
+        if (durationNanos > budgetNanos) {
+            report(adapter, viewType, NO_POSITION, durationNanos, false);
+        }
+    }
+
+    @Override
+    public void onViewHolderBound(UniversalAdapter<?, ?> adapter, int viewType, int position, long durationNanos) {
+        if (durationNanos > budgetNanos) {
+            report(adapter, viewType, position, durationNanos, true);
+        }
+    }
+
+    // endregion Inherited Methods
+
+    // region Instance Methods
+
+    private void report(UniversalAdapter<?, ?> adapter, int viewType, int position, long durationNanos,
+                        boolean bind) {
+        int suppressed;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (reported && now - lastReportNanos < minReportIntervalNanos) {
+                suppressedCount++;
+                return;
+            }
+            reported = true;
+            lastReportNanos = now;
+            suppressed = suppressedCount;
+            suppressedCount = 0;
+        }
+        listener.onSlowCall(adapter, viewType, position, durationNanos, bind, suppressed);
+    }
+
+    // endregion Instance Methods
+}
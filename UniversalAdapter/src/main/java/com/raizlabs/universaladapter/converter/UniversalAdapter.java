@@ -10,11 +10,21 @@ import android.widget.BaseAdapter;
 import com.raizlabs.coreutils.threading.ThreadingUtils;
 import com.raizlabs.coreutils.util.observable.lists.ListObserver;
 import com.raizlabs.coreutils.util.observable.lists.ListObserverListener;
-import com.raizlabs.coreutils.util.observable.lists.SimpleListObserver;
+import com.raizlabs.universaladapter.AdapterTrace;
+import com.raizlabs.universaladapter.ListObserverMoveListener;
+import com.raizlabs.universaladapter.ListObserverPayloadListener;
 import com.raizlabs.universaladapter.R;
+import com.raizlabs.universaladapter.UniversalListObserver;
 import com.raizlabs.universaladapter.ViewHolder;
+import com.raizlabs.universaladapter.util.AdapterPositions;
+import com.raizlabs.universaladapter.util.ChangeDispatcher;
+import com.raizlabs.universaladapter.util.ChangeLog;
+import com.raizlabs.universaladapter.util.ChangePayloads;
+import com.raizlabs.universaladapter.util.ListChangeListener;
+import com.raizlabs.universaladapter.util.PositionSegments;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -39,10 +49,37 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
 
     // region Members
 
-    private boolean runningTransaction;
-    private boolean transactionModified;
+    private UniversalListObserver<Item> listObserver;
 
-    private SimpleListObserver<Item> listObserver;
+    /**
+     * Sends changes to the {@link #listObserver}, or holds them back while a transaction is running.
+     */
+    private final ChangeDispatcher changeDispatcher = new ChangeDispatcher(new ListChangeListener() {
+        @Override
+        public void onItemRangeChanged(int start, int count, Object payload) {
+            listObserver.notifyItemRangeChanged(start, count, payload);
+        }
+
+        @Override
+        public void onItemRangeInserted(int start, int count) {
+            listObserver.notifyItemRangeInserted(start, count);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int start, int count) {
+            listObserver.notifyItemRangeRemoved(start, count);
+        }
+
+        @Override
+        public void onItemMoved(int fromPosition, int toPosition) {
+            listObserver.notifyItemMoved(fromPosition, toPosition);
+        }
+
+        @Override
+        public void onGenericChange() {
+            listObserver.notifyGenericChange();
+        }
+    });
 
     private ItemClickedListener<Item, Holder> itemClickedListener;
     private FooterClickedListener footerClickedListener;
@@ -54,18 +91,67 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
 
     private boolean isBound;
 
+    /**
+     * The header, item, and footer boundaries and the optional view type cache, kept current by the onItemRange*
+     * hooks so positional lookups don't recompute the boundaries.
+     */
+    private final AdapterPositions positions = new AdapterPositions(new AdapterPositions.Source() {
+        @Override
+        public int getHeadersCount() {
+            return UniversalAdapter.this.getHeadersCount();
+        }
+
+        @Override
+        public int getCount() {
+            return UniversalAdapter.this.getCount();
+        }
+
+        @Override
+        public int getFootersCount() {
+            return UniversalAdapter.this.getFootersCount();
+        }
+
+        @Override
+        public int getItemViewTypeCount() {
+            return UniversalAdapter.this.getItemViewTypeCount();
+        }
+
+        @Override
+        public int getItemViewType(int position) {
+            return UniversalAdapter.this.getItemViewType(position);
+        }
+    });
+
+    private volatile boolean backgroundInflationEnabled;
+
+    private AdapterMetricsListener metricsListener;
+    private SlowBindWatchdog slowBindWatchdog;
+
+    /**
+     * The metrics listener, the watchdog and whether trace sections are emitted, or null if none of them is on, so
+     * creating and binding holders checks a single field.
+     */
+    private Instrumentation instrumentation;
+
+    private String traceName;
+
     // endregion Members
 
     // region Constructors
 
     public UniversalAdapter() {
-        listObserver = new SimpleListObserver<>();
+        listObserver = new UniversalListObserver<>(this);
+        updateInstrumentation();
     }
 
     // endregion Constructors
 
     // region Accessors
 
+    /**
+     * @return The observer of this adapter's changes. Listeners implementing {@link ListObserverMoveListener} are
+     * notified of moved items directly.
+     */
     public ListObserver<Item> getListObserver() {
         return listObserver;
     }
@@ -94,6 +180,66 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
         this.headerLongClickedListener = headerLongClickedListener;
     }
 
+    /**
+     * Caches the result of {@link #getItemViewType(int)} for each item position until the onItemRange* hooks report
+     * the position changed. Enable this when {@link #getItemViewType(int)} is expensive. The cache relies on every
+     * change to the items being reported through those hooks.
+     *
+     * @param enabled true to cache view types, false to compute them on every call.
+     */
+    public void setViewTypeCacheEnabled(boolean enabled) {
+        positions.setViewTypeCacheEnabled(enabled);
+    }
+
+    /**
+     * Allows view holders to be pre-inflated on a worker thread, see
+     * {@link RecyclerViewAdapterConverter#preInflateViewHolders()}. Only enable this when
+     * {@link #onCreateViewHolder(ViewGroup, int)} doesn't touch UI thread state, such as creating a handler or
+     * reading mutable fields of this adapter. When disabled, holders are pre-inflated on the UI thread while it is
+     * idle.
+     *
+     * @param enabled true to pre-inflate view holders in the background.
+     */
+    public void setBackgroundInflationEnabled(boolean enabled) {
+        this.backgroundInflationEnabled = enabled;
+    }
+
+    public boolean isBackgroundInflationEnabled() {
+        return backgroundInflationEnabled;
+    }
+
+    /**
+     * Reports how long each view holder took to create and bind to the given listener, such as an
+     * {@link AdapterMetrics}. Without a listener, creating and binding holders isn't timed at all. The adapters
+     * merged into a {@link MergedUniversalAdapter} report to their own listeners.
+     *
+     * @param metricsListener The listener to report to, or null to stop reporting.
+     */
+    public void setMetricsListener(AdapterMetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+        updateInstrumentation();
+    }
+
+    public AdapterMetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+
+    /**
+     * Opt-in watchdog which reports any single {@link #onCreateViewHolder(ViewGroup, int)} or
+     * {@link #onBindViewHolder(ViewHolder, Object, int)} call over its budget. Meant for debug and dogfood builds.
+     * Works alongside the {@link #setMetricsListener(AdapterMetricsListener) metrics listener}.
+     *
+     * @param slowBindWatchdog The watchdog to report to, or null to stop watching.
+     */
+    public void setSlowBindWatchdog(SlowBindWatchdog slowBindWatchdog) {
+        this.slowBindWatchdog = slowBindWatchdog;
+        updateInstrumentation();
+    }
+
+    public SlowBindWatchdog getSlowBindWatchdog() {
+        return slowBindWatchdog;
+    }
+
     /**
      * @param isBound if true, we cannot any longer add header and footer views to this adapter. As well as bind to other adapters.
      */
@@ -140,6 +286,21 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
      */
     protected abstract void onBindViewHolder(Holder viewHolder, Item item, int position);
 
+    /**
+     * Called instead of {@link #onBindViewHolder(ViewHolder, Object, int)} when the view holder already shows the
+     * item and only the changes described by the payloads need to be applied, such as a counter being updated.
+     * Payloads come from {@link #notifyItemRangeChanged(int, int, Object)}; duplicates are merged. By default this
+     * does a full bind.
+     *
+     * @param viewHolder The view holder to update.
+     * @param item       The item whose data to populate into the view holder.
+     * @param position   The position of the item in the list.
+     * @param payloads   The distinct payloads of the changes made since the view holder was bound. Never empty.
+     */
+    protected void onBindViewHolder(Holder viewHolder, Item item, int position, List<Object> payloads) {
+        onBindViewHolder(viewHolder, item, position);
+    }
+
     /**
      * Called when any observables on this adapter should be notified that the list has changed.
      *
@@ -152,6 +313,18 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
 
     // region Instance Methods
 
+    /**
+     * Notifies observers that the items in the range changed in the way described by the payload, so converters
+     * that support it only rebind what changed. See {@link #onBindViewHolder(ViewHolder, Object, int, List)}.
+     *
+     * @param startPosition The first changed item position.
+     * @param itemCount     The number of changed items.
+     * @param payload       Describes the change, or null if the items need a full bind.
+     */
+    public void notifyItemRangeChanged(int startPosition, int itemCount, Object payload) {
+        onItemRangeChanged(startPosition, itemCount, payload);
+    }
+
     /**
      * Calls {@link #notifyDataSetChangedOnUIThread()} on the UI thread.
      */
@@ -222,6 +395,31 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
         return 1;
     }
 
+    /**
+     * Opt-in key used to share view types between the adapters of a {@link MergedUniversalAdapter}. Item types of
+     * different adapters that return equal keys, such as the same layout resource id, are merged into one view type
+     * so their holders are recycled for each other. Holders are created by whichever adapter first declared the key
+     * and bound by the adapter that owns the position, so holders for the same key must be interchangeable.
+     *
+     * @param itemViewType The item view type, as returned from {@link #getItemViewType(int)}.
+     * @return The key for the view type, or null if its holders are not shared.
+     */
+    public Object getItemViewTypeKey(int itemViewType) {
+        return null;
+    }
+
+    /**
+     * The number of view holders of the view type to create ahead of time when
+     * {@link RecyclerViewAdapterConverter#preInflateViewHolders()} is called, typically the number of rows of that
+     * type visible on the first screens.
+     *
+     * @param itemViewType The item view type, as returned from {@link #getItemViewType(int)}.
+     * @return The number of holders to pre-inflate. Zero by default.
+     */
+    public int getPreInflatedViewHolderCount(int itemViewType) {
+        return 0;
+    }
+
     /**
      * @return true if we have stable ids
      * @see {@link BaseAdapter#hasStableIds()}
@@ -251,6 +449,7 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
         tryThrowAlreadyBoundException(
                 "Cannot bind a header holder post-bind due to limitations of view types and recycling.");
         headerHolders.add(viewHolder);
+        invalidatePositionCache();
         onItemRangeInserted(getHeadersCount() - 1, 1);
     }
 
@@ -274,7 +473,8 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
         tryThrowAlreadyBoundException(
                 "Cannot bind a footer holder post-bind due to limitations of view types and recycling.");
         footerHolders.add(viewHolder);
-        onItemRangeInserted(getFooterStartIndex() + getFootersCount(), 1);
+        invalidatePositionCache();
+        onItemRangeInserted(getInternalCount() - 1, 1);
     }
 
     /**
@@ -299,7 +499,7 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
      * a position < 0 if the passed in position is a header or a number larger than the {@link #getCount()} method for a footer.
      */
     public int getAdjustedPosition(int rawPosition) {
-        return rawPosition - getHeadersCount();
+        return positions.getSegments().toItemPosition(rawPosition);
     }
 
     /**
@@ -307,7 +507,7 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
      * @return true if the raw position is a header.
      */
     public boolean isHeaderPosition(int rawPosition) {
-        return rawPosition < getHeadersCount();
+        return positions.getSegments().isHeader(rawPosition);
     }
 
     /**
@@ -315,34 +515,46 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
      * @return true if the raw position is a footer.
      */
     public boolean isFooterPosition(int rawPosition) {
-        return rawPosition > getFooterStartIndex();
+        return positions.getSegments().isFooter(rawPosition);
+    }
+
+    /**
+     * Sets how many distinct ranged changes a transaction may accumulate before {@link #endTransaction()} reports a
+     * single generic change instead. Adjacent and overlapping changes are merged and count once.
+     *
+     * @param threshold The maximum number of ranged notifications to send for a transaction. Defaults to
+     *                  {@link ChangeLog#DEFAULT_THRESHOLD}.
+     */
+    public void setTransactionCoalescingThreshold(int threshold) {
+        changeDispatcher.setTransactionCoalescingThreshold(threshold);
+    }
+
+    /**
+     * @return The maximum number of ranged notifications sent for a transaction.
+     * @see #setTransactionCoalescingThreshold(int)
+     */
+    public int getTransactionCoalescingThreshold() {
+        return changeDispatcher.getTransactionCoalescingThreshold();
     }
 
     /**
      * Starts a transaction to only notify our observers only when {@link #endTransaction()} is called. Use this
-     * when you need to modify the list in a significant way.
+     * when you need to modify the list in a significant way. Transactions must be run on the UI thread; see
+     * {@link com.raizlabs.universaladapter.ListBasedAdapter#beginBackgroundTransaction()} for editing elsewhere.
      */
     public void beginTransaction() {
-        if (!runningTransaction) {
-            runningTransaction = true;
-            transactionModified = false;
-        } else {
-            throw new IllegalStateException("Tried to begin a transaction when one was already running!");
-        }
+        changeDispatcher.beginTransaction();
     }
 
     /**
      * Ends a transaction and notifies the {@link ListObserver}. Only call this after a call to {@link #beginTransaction()}
+     * The changes made during the transaction are sent as the fewest ranged notifications that describe them, or as
+     * one generic change if there were more than the coalescing threshold.
+     *
+     * @see #setTransactionCoalescingThreshold(int)
      */
     public void endTransaction() {
-        if (runningTransaction) {
-            runningTransaction = false;
-            if (transactionModified) {
-                onGenericChange();
-            }
-        } else {
-            throw new IllegalStateException("Tried to end a transaction when no transaction was running!");
-        }
+        changeDispatcher.endTransaction();
     }
 
     /**
@@ -354,6 +566,31 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
         }
     }
 
+    /**
+     * @param viewType An internal view type.
+     * @return The header or footer holder of the view type, or null if it is an item view type.
+     */
+    ViewHolder getFixedViewHolder(int viewType) {
+        if (viewType < getHeadersCount()) {
+            return headerHolders.get(viewType);
+        } else if (viewType > (getHeadersCount() + getItemViewTypeCount() - 1)) {
+            return footerHolders.get(viewType - getHeadersCount() - getItemViewTypeCount());
+        }
+        return null;
+    }
+
+    /**
+     * @param fixedHolder A header or footer holder of this adapter.
+     * @return The internal view type of the holder.
+     */
+    int getFixedViewType(ViewHolder fixedHolder) {
+        int index = headerHolders.indexOf(fixedHolder);
+        if (index >= 0) {
+            return index;
+        }
+        return getHeadersCount() + getItemViewTypeCount() + footerHolders.indexOf(fixedHolder);
+    }
+
     /**
      * @param parent   The parent to reference in the {@link ViewHolder}
      * @param viewType The type of holder to return.
@@ -362,6 +599,30 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
      * {@link #onCreateViewHolder(ViewGroup, int)} when its a normal holder.
      */
     ViewHolder createViewHolder(ViewGroup parent, int viewType) {
+        Instrumentation instrumentation = this.instrumentation;
+        if (instrumentation == null) {
+            return performCreateViewHolder(parent, viewType);
+        }
+
+        if (instrumentation.traced) {
+            AdapterTrace.beginSection(getTraceName() + ".createViewHolder type " + getMetricsViewType(viewType));
+        }
+        try {
+            long startNanos = System.nanoTime();
+            ViewHolder viewHolder = performCreateViewHolder(parent, viewType);
+            if (instrumentation.metricsListener != null) {
+                instrumentation.metricsListener.onViewHolderCreated(this, getMetricsViewType(viewType),
+                                                                    System.nanoTime() - startNanos);
+            }
+            return viewHolder;
+        } finally {
+            if (instrumentation.traced) {
+                AdapterTrace.endSection();
+            }
+        }
+    }
+
+    private ViewHolder performCreateViewHolder(ViewGroup parent, int viewType) {
         ViewHolder viewHolder;
         if (viewType < getHeadersCount()) {
             viewHolder = headerHolders.get(viewType);
@@ -402,17 +663,97 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
      * @param position   The position of the data in the list.
      */
     void bindViewHolder(ViewHolder viewHolder, int position) {
-        if (position < getHeadersCount()) {
+        Instrumentation instrumentation = this.instrumentation;
+        if (instrumentation == null) {
+            performBindViewHolder(viewHolder, position);
+        } else {
+            instrumentedBindViewHolder(instrumentation, viewHolder, position, null);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void performBindViewHolder(ViewHolder viewHolder, int position) {
+        PositionSegments segments = positions.getSegments();
+        if (segments.isHeader(position)) {
             onBindHeaderViewHolder(viewHolder, position);
-        } else if (position > getFooterStartIndex()) {
-            onBindFooterViewHolder(viewHolder, position - getFooterStartIndex() - 1);
+        } else if (segments.isFooter(position)) {
+            onBindFooterViewHolder(viewHolder, segments.toFooterIndex(position));
         } else {
-            int adjusted = position - getHeadersCount();
+            int adjusted = segments.toItemPosition(position);
             viewHolder.itemView.setTag(R.id.com_raizlabs_viewholderIndexID, adjusted);
             onBindViewHolder((Holder) viewHolder, get(adjusted), adjusted);
         }
     }
 
+    /**
+     * Internally binds the view holder with the payloads of its pending changes. Headers, footers and items without
+     * payloads get a full bind.
+     *
+     * @param viewHolder The viewholder to bind.
+     * @param position   The position in the whole list (including headers and footers)
+     * @param payloads   The payloads of the pending changes, which may themselves be merged payloads.
+     */
+    void bindViewHolder(ViewHolder viewHolder, int position, List<Object> payloads) {
+        Instrumentation instrumentation = this.instrumentation;
+        if (instrumentation == null) {
+            performBindViewHolder(viewHolder, position, payloads);
+        } else {
+            instrumentedBindViewHolder(instrumentation, viewHolder, position, payloads);
+        }
+    }
+
+    /**
+     * Binds the view holder inside a trace section and reports how long it took to the metrics listener and the
+     * watchdog.
+     *
+     * @param instrumentation What to report the bind to.
+     * @param payloads        The payloads to bind with, or null for a full bind.
+     */
+    private void instrumentedBindViewHolder(Instrumentation instrumentation, ViewHolder viewHolder, int position,
+                                            List<Object> payloads) {
+        AdapterMetricsListener metricsListener = instrumentation.metricsListener;
+        int viewType = getMetricsViewType(getInternalItemViewType(position));
+        if (instrumentation.traced) {
+            AdapterTrace.beginSection(getTraceName() + ".bindViewHolder type " + viewType);
+        }
+        try {
+            long startNanos = System.nanoTime();
+            if (payloads == null) {
+                performBindViewHolder(viewHolder, position);
+            } else {
+                performBindViewHolder(viewHolder, position, payloads);
+            }
+            if (metricsListener != null) {
+                metricsListener.onViewHolderBound(this, viewType, position, System.nanoTime() - startNanos);
+            }
+        } finally {
+            if (instrumentation.traced) {
+                AdapterTrace.endSection();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void performBindViewHolder(ViewHolder viewHolder, int position, List<Object> payloads) {
+        PositionSegments segments = positions.getSegments();
+        if (payloads.isEmpty() || segments.isHeader(position) || segments.isFooter(position)) {
+            performBindViewHolder(viewHolder, position);
+        } else {
+            List<Object> distinctPayloads;
+            if (payloads.size() == 1 && !(payloads.get(0) instanceof ChangePayloads)) {
+                distinctPayloads = Collections.singletonList(payloads.get(0));
+            } else {
+                distinctPayloads = new ArrayList<>(payloads.size());
+                for (Object payload : payloads) {
+                    ChangePayloads.addTo(distinctPayloads, payload);
+                }
+            }
+            int adjusted = segments.toItemPosition(position);
+            viewHolder.itemView.setTag(R.id.com_raizlabs_viewholderIndexID, adjusted);
+            onBindViewHolder((Holder) viewHolder, get(adjusted), adjusted, distinctPayloads);
+        }
+    }
+
     /**
      * Internally binds the drop down view holder and takes into account header and footer view holders.
      *
@@ -421,12 +762,13 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
      */
     @SuppressWarnings("unchecked")
     void bindDropDownViewHolder(ViewHolder viewHolder, int position) {
-        if (position < getHeadersCount()) {
+        PositionSegments segments = positions.getSegments();
+        if (segments.isHeader(position)) {
             onBindHeaderViewHolder(viewHolder, position);
-        } else if (position > getFooterStartIndex()) {
-            onBindFooterViewHolder(viewHolder, position - getFooterStartIndex() - 1);
+        } else if (segments.isFooter(position)) {
+            onBindFooterViewHolder(viewHolder, segments.toFooterIndex(position));
         } else {
-            onBindDropDownViewHolder((Holder) viewHolder, position - getHeadersCount());
+            onBindDropDownViewHolder((Holder) viewHolder, segments.toItemPosition(position));
         }
     }
 
@@ -434,7 +776,7 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
      * @return The actual count of this list. Takes into account items, headers, and footers.
      */
     int getInternalCount() {
-        return getHeadersCount() + getCount() + getFootersCount();
+        return positions.getCount();
     }
 
     /**
@@ -442,15 +784,7 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
      * @return The item view type. Header and footers each will have a unique item type, since they're not uniform.
      */
     int getInternalItemViewType(int position) {
-        int viewType;
-        if (position < getHeadersCount()) {
-            viewType = position;
-        } else if (position > getFooterStartIndex()) {
-            viewType = position - getFooterStartIndex() + getHeadersCount() + getItemViewTypeCount() - 1;
-        } else {
-            viewType = getItemViewType(position - getHeadersCount()) + getHeadersCount();
-        }
-        return viewType;
+        return positions.getViewType(position);
     }
 
     /**
@@ -465,10 +799,11 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
      * @return true if the view is enabled and clickable.
      */
     boolean internalIsEnabled(int position) {
-        if (position < getHeadersCount()) {
+        PositionSegments segments = positions.getSegments();
+        if (segments.isHeader(position)) {
             return isHeaderEnabled(position);
-        } else if (position > getFooterStartIndex()) {
-            return isFooterEnabled(position - getFooterStartIndex() - 1);
+        } else if (segments.isFooter(position)) {
+            return isFooterEnabled(segments.toFooterIndex(position));
         } else {
             return isEnabled(getAdjustedPosition(position));
         }
@@ -495,13 +830,14 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
      */
     void onItemClicked(int position, ViewHolder holder) {
         if (internalIsEnabled(position)) {
-            if (position < getHeadersCount()) {
+            PositionSegments segments = positions.getSegments();
+            if (segments.isHeader(position)) {
                 if (headerClickedListener != null) {
                     headerClickedListener.onHeaderClicked(this, holder, position);
                 }
-            } else if (position > getFooterStartIndex()) {
+            } else if (segments.isFooter(position)) {
                 if (footerClickedListener != null) {
-                    footerClickedListener.onFooterClicked(this, holder, position - getFooterStartIndex() - 1);
+                    footerClickedListener.onFooterClicked(this, holder, segments.toFooterIndex(position));
                 }
             } else {
                 if (itemClickedListener != null) {
@@ -533,14 +869,15 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
      */
     boolean onItemLongClicked(int position, ViewHolder holder) {
         if (internalIsEnabled(position)) {
-            if (position < getHeadersCount()) {
+            PositionSegments segments = positions.getSegments();
+            if (segments.isHeader(position)) {
                 if (headerLongClickedListener != null) {
                     return headerLongClickedListener.onHeaderLongClicked(this, holder, position);
                 }
-            } else if (position > getFooterStartIndex()) {
+            } else if (segments.isFooter(position)) {
                 if (footerLongClickedListener != null) {
                     return footerLongClickedListener.onFooterLongClicked(this, holder,
-                                                                       position - getFooterStartIndex() - 1);
+                                                                       segments.toFooterIndex(position));
                 }
             } else {
                 if (itemLongClickedListener != null) {
@@ -557,12 +894,24 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
      *
      * @param startPosition The starting position of the change
      * @param itemCount     The total number of items changed from [startPosition, startPosition+itemCount]
-     * @see {@link SimpleListObserver#notifyItemRangeChanged(int, int)}
+     * @see {@link UniversalListObserver#notifyItemRangeChanged(int, int)}
      */
     protected void onItemRangeChanged(int startPosition, int itemCount) {
-        if (tryTransactionModification()) {
-            this.listObserver.notifyItemRangeChanged(startPosition, itemCount);
-        }
+        onItemRangeChanged(startPosition, itemCount, null);
+    }
+
+    /**
+     * Called when a range of items has changed in the way described by the payload. Converters that support partial
+     * rebinding pass the payload to {@link #onBindViewHolder(ViewHolder, Object, int, List)}.
+     *
+     * @param startPosition The starting position of the change
+     * @param itemCount     The total number of items changed from [startPosition, startPosition+itemCount]
+     * @param payload       Describes the change, or null if the items need a full bind.
+     * @see {@link UniversalListObserver#notifyItemRangeChanged(int, int, Object)}
+     */
+    protected void onItemRangeChanged(int startPosition, int itemCount, Object payload) {
+        positions.onItemRangeChanged(startPosition, itemCount, payload);
+        changeDispatcher.onItemRangeChanged(startPosition, itemCount, payload);
     }
 
     /**
@@ -570,12 +919,11 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
      *
      * @param startPosition The starting position of the insert.
      * @param itemCount     The total number of items changed from [startPosition, startPosition+itemCount]
-     * @see {@link SimpleListObserver#notifyItemRangeInserted(int, int)}
+     * @see {@link UniversalListObserver#notifyItemRangeInserted(int, int)}
      */
     protected void onItemRangeInserted(int startPosition, int itemCount) {
-        if (tryTransactionModification()) {
-            this.listObserver.notifyItemRangeInserted(startPosition, itemCount);
-        }
+        positions.onItemRangeInserted(startPosition, itemCount);
+        changeDispatcher.onItemRangeInserted(startPosition, itemCount);
     }
 
     /**
@@ -583,24 +931,34 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
      *
      * @param startPosition The starting position of the remove.
      * @param itemCount     The total number of items changed from [startPosition, startPosition+itemCount]
-     * @see {@link SimpleListObserver#notifyItemRangeRemoved(int, int)}
+     * @see {@link UniversalListObserver#notifyItemRangeRemoved(int, int)}
      */
     protected void onItemRangeRemoved(int startPosition, int itemCount) {
-        if (tryTransactionModification()) {
-            this.listObserver.notifyItemRangeRemoved(startPosition, itemCount);
-        }
+        positions.onItemRangeRemoved(startPosition, itemCount);
+        changeDispatcher.onItemRangeRemoved(startPosition, itemCount);
+    }
+
+    /**
+     * Call when a single item moved within this adapter.
+     *
+     * @param fromPosition The position the item was at.
+     * @param toPosition   The position the item is at now.
+     * @see {@link UniversalListObserver#notifyItemMoved(int, int)}
+     */
+    protected void onItemMoved(int fromPosition, int toPosition) {
+        positions.onItemMoved(fromPosition, toPosition);
+        changeDispatcher.onItemMoved(fromPosition, toPosition);
     }
 
     /**
      * Call when items change in no particular range. At most for any adapter used in any sense (except {@link RecyclerViewAdapterConverter},
      * This is called from all other notify methods.
      *
-     * @see {@link SimpleListObserver#notifyGenericChange()}
+     * @see {@link UniversalListObserver#notifyGenericChange()}
      */
     protected void onGenericChange() {
-        if (tryTransactionModification()) {
-            this.listObserver.notifyGenericChange();
-        }
+        invalidatePositionCache();
+        changeDispatcher.onGenericChange();
     }
 
     /**
@@ -663,25 +1021,45 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
     }
 
     /**
-     * @return The starting index of footer views (if any exist)
+     * Forgets the cached header, item, and footer boundaries and any cached view types. Call this when the items
+     * change in a way that is not reported through the onItemRange* hooks right away.
+     */
+    protected void invalidatePositionCache() {
+        positions.invalidate();
+    }
+
+    private void updateInstrumentation() {
+        AdapterMetricsListener listener;
+        if (metricsListener != null && slowBindWatchdog != null) {
+            listener = new CompositeMetricsListener(metricsListener, slowBindWatchdog);
+        } else {
+            listener = metricsListener != null ? metricsListener : slowBindWatchdog;
+        }
+        boolean traced = AdapterTrace.isEnabled();
+        instrumentation = listener != null || traced ? new Instrumentation(listener, traced) : null;
+    }
+
+    /**
+     * @return The name of this adapter in trace sections.
      */
-    private int getFooterStartIndex() {
-        return getHeadersCount() + getCount() - 1;
+    String getTraceName() {
+        if (traceName == null) {
+            traceName = AdapterTrace.getName(this);
+        }
+        return traceName;
     }
 
     /**
-     * Records a modification attempt to any currently running transaction and
-     * returns whether the change should notify listeners.
-     *
-     * @return True if the modification should notify listeners, false if it
-     * should not.
+     * @param viewType An internal view type.
+     * @return The view type reported to the {@link AdapterMetricsListener}.
      */
-    private boolean tryTransactionModification() {
-        if (runningTransaction) {
-            transactionModified = true;
-            return false;
+    private int getMetricsViewType(int viewType) {
+        if (viewType < getHeadersCount()) {
+            return AdapterMetricsListener.VIEW_TYPE_HEADER;
+        } else if (viewType > (getHeadersCount() + getItemViewTypeCount() - 1)) {
+            return AdapterMetricsListener.VIEW_TYPE_FOOTER;
         }
-        return true;
+        return viewType - getHeadersCount();
     }
 
     private void tryThrowAlreadyBoundException(String message) {
@@ -697,13 +1075,40 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
     /**
      * {@link ListObserverListener} which listens to underlying list changes and calls the appropriate methods.
      */
-    protected final ListObserverListener<Item> observableListener = new ListObserverListener<Item>() {
+    protected final ListObserverListener<Item> observableListener = new ObservableListener();
+
+    /**
+     * Runs the {@link #notifyDataSetChanged()} on the UI thread when called.
+     */
+    private final Runnable dataSetChangedRunnable = new Runnable() {
+        @Override
+        public void run() {
+            invalidatePositionCache();
+            notifyDataSetChanged();
+        }
+    };
+
+    // endregion Anonymous Classes
+
+    // region Inner Classes
+
+    /**
+     * Forwards every event of an observed list, including moves and payloads, to this adapter's hooks.
+     */
+    private class ObservableListener implements ListObserverMoveListener<Item>, ListObserverPayloadListener<Item> {
 
         @Override
         public void onItemRangeChanged(ListObserver<Item> observer, int startPosition, int itemCount) {
             UniversalAdapter.this.onItemRangeChanged(startPosition, itemCount);
         }
 
+        @Override
+        public void onItemRangeChanged(ListObserver<Item> observer, int startPosition, int itemCount,
+                                       Object payload) {
+            UniversalAdapter.this.onItemRangeChanged(startPosition, itemCount, payload);
+        }
+
+
         @Override
         public void onItemRangeInserted(ListObserver<Item> observer, int startPosition, int itemCount) {
             UniversalAdapter.this.onItemRangeInserted(startPosition, itemCount);
@@ -714,22 +1119,65 @@ public abstract class UniversalAdapter<Item, Holder extends ViewHolder> {
             UniversalAdapter.this.onItemRangeRemoved(startPosition, itemCount);
         }
 
+        @Override
+        public void onItemMoved(ListObserver<Item> observer, int fromPosition, int toPosition) {
+            UniversalAdapter.this.onItemMoved(fromPosition, toPosition);
+        }
+
         @Override
         public void onGenericChange(ListObserver<Item> observer) {
             UniversalAdapter.this.onGenericChange();
         }
-    };
+    }
 
     /**
-     * Runs the {@link #notifyDataSetChanged()} on the UI thread when called.
+     * Everything creating and binding holders reports to while instrumented.
      */
-    private final Runnable dataSetChangedRunnable = new Runnable() {
+    private static class Instrumentation {
+
+        /**
+         * The metrics listener, the watchdog, or both, or null if neither is set.
+         */
+        final AdapterMetricsListener metricsListener;
+
+        /**
+         * Whether {@link AdapterTrace} was enabled when the instrumentation was set up.
+         */
+        final boolean traced;
+
+        Instrumentation(AdapterMetricsListener metricsListener, boolean traced) {
+            this.metricsListener = metricsListener;
+            this.traced = traced;
+        }
+    }
+
+    /**
+     * Reports to both the metrics listener and the watchdog.
+     */
+    private static class CompositeMetricsListener implements AdapterMetricsListener {
+
+        private final AdapterMetricsListener first;
+        private final AdapterMetricsListener second;
+
+        CompositeMetricsListener(AdapterMetricsListener first, AdapterMetricsListener second) {
+            this.first = first;
+            this.second = second;
+        }
+
         @Override
-        public void run() {
-            notifyDataSetChanged();
+        public void onViewHolderCreated(UniversalAdapter<?, ?> adapter, int viewType, long durationNanos) {
+            first.onViewHolderCreated(adapter, viewType, durationNanos);
+            second.onViewHolderCreated(adapter, viewType, durationNanos);
         }
-    };
 
-    // endregion Anonymous Classes
+        @Override
+        public void onViewHolderBound(UniversalAdapter<?, ?> adapter, int viewType, int position,
+                                      long durationNanos) {
+            first.onViewHolderBound(adapter, viewType, position, durationNanos);
+            second.onViewHolderBound(adapter, viewType, position, durationNanos);
+        }
+    }
+
+    // endregion Inner Classes
 
 }
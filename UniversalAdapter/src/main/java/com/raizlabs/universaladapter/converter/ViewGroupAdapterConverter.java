@@ -6,7 +6,7 @@ import android.view.ViewGroup;
 
 import com.raizlabs.coreutils.util.observable.lists.ListObserver;
 import com.raizlabs.coreutils.util.observable.lists.ListObserverListener;
-import com.raizlabs.coreutils.util.observable.lists.SimpleListObserverListener;
+import com.raizlabs.universaladapter.SimpleListObserverMoveListener;
 import com.raizlabs.universaladapter.UniversalAdapterUtils;
 import com.raizlabs.universaladapter.ViewHolder;
 
@@ -151,7 +151,7 @@ public class ViewGroupAdapterConverter<Item, Holder extends ViewHolder> implemen
         getViewGroup().addView(view, position);
     }
 
-    private ListObserverListener<Item> listChangeListener = new SimpleListObserverListener<Item>() {
+    private ListObserverListener<Item> listChangeListener = new SimpleListObserverMoveListener<Item>() {
         @Override
         public void onGenericChange(ListObserver<Item> observer) {
             populateAll();
@@ -0,0 +1,202 @@
+package com.raizlabs.universaladapter.converter;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseIntArray;
+
+import com.raizlabs.coreutils.threading.ThreadingUtils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates view holders ahead of time and seeds them into the {@link RecyclerView.RecycledViewPool} of a
+ * {@link RecyclerView}, so the first scroll through each view type binds pooled holders instead of inflating them on
+ * the UI thread. Holders are created on a worker thread when the adapter allows background inflation, otherwise one
+ * at a time whenever the UI thread's message queue is idle.
+ */
+final class ViewHolderPreInflater implements MessageQueue.IdleHandler {
+
+    // region Constants
+
+    private static final ExecutorService INFLATE_EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "UniversalAdapter-Inflate");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    /**
+     * Set while the current thread creates a holder ahead of time, see {@link #isPreInflating()}.
+     */
+    private static final ThreadLocal<Boolean> PRE_INFLATING = new ThreadLocal<>();
+
+    // endregion Constants
+
+    // region Members
+
+    private final RecyclerViewAdapterConverter converter;
+    private final RecyclerView recyclerView;
+
+    /**
+     * The view type reported to the {@link RecyclerView} of each holder to create, interleaved so every type gets its first holders early.
+     */
+    private final int[] viewTypes;
+
+    /**
+     * The number of holders to create by view type reported to the {@link RecyclerView}.
+     */
+    private final SparseIntArray typeCounts = new SparseIntArray();
+
+    /**
+     * The header count the view types were computed with. Holders are dropped if it changes.
+     */
+    private final int headersCount;
+
+    private volatile boolean cancelled;
+    private int nextIndex;
+    private MessageQueue idleQueue;
+
+    // endregion Members
+
+    // region Constructors
+
+    /**
+     * @param converter    The converter whose holders to create.
+     * @param recyclerView The view whose pool to seed.
+     * @param targetCounts The number of holders to create by item view type, as returned from
+     *                     {@link UniversalAdapter#getItemViewType(int)}.
+     */
+    ViewHolderPreInflater(RecyclerViewAdapterConverter converter, RecyclerView recyclerView,
+                          SparseIntArray targetCounts) {
+        this.converter = converter;
+        this.recyclerView = recyclerView;
+
+        UniversalAdapter adapter = converter.getAdapter();
+        headersCount = adapter.getHeadersCount();
+        int typeCount = adapter.getItemViewTypeCount();
+        int total = 0;
+        int maxCount = 0;
+        for (int i = 0; i < targetCounts.size(); i++) {
+            int itemViewType = targetCounts.keyAt(i);
+            int count = targetCounts.valueAt(i);
+            if (itemViewType >= 0 && itemViewType < typeCount && count > 0) {
+                typeCounts.put(converter.toRecyclerViewType(itemViewType + headersCount), count);
+                total += count;
+                maxCount = Math.max(maxCount, count);
+            }
+        }
+
+        viewTypes = new int[total];
+        int index = 0;
+        for (int round = 0; round < maxCount; round++) {
+            for (int i = 0; i < typeCounts.size(); i++) {
+                if (round < typeCounts.valueAt(i)) {
+                    viewTypes[index++] = typeCounts.keyAt(i);
+                }
+            }
+        }
+    }
+
+    // endregion Constructors
+
+    // region Accessors
+
+    /**
+     * @return True if the current thread is creating a holder ahead of time rather than for the
+     * {@link RecyclerView}.
+     */
+    static boolean isPreInflating() {
+        return PRE_INFLATING.get() != null;
+    }
+
+    // endregion Accessors
+
+    // region Inherited Methods
+
+    @Override
+    public boolean queueIdle() {
+        if (cancelled || nextIndex >= viewTypes.length) {
+            return false;
+        }
+        seed(create(viewTypes[nextIndex++]));
+        return nextIndex < viewTypes.length;
+    }
+
+    // endregion Inherited Methods
+
+    // region Instance Methods
+
+    /**
+     * Starts creating the holders. Must be called on the UI thread.
+     */
+    void start() {
+        if (viewTypes.length == 0) {
+            return;
+        }
+
+        // The pool drops holders past its limit, so make room for every holder requested.
+        RecyclerView.RecycledViewPool pool = recyclerView.getRecycledViewPool();
+        for (int i = 0; i < typeCounts.size(); i++) {
+            if (typeCounts.valueAt(i) > SharedRecycledViewPool.DEFAULT_MAX_RECYCLED_VIEWS) {
+                pool.setMaxRecycledViews(typeCounts.keyAt(i), typeCounts.valueAt(i));
+            }
+        }
+
+        if (converter.getAdapter().isBackgroundInflationEnabled()) {
+            INFLATE_EXECUTOR.execute(new Runnable() {
+                @Override
+                public void run() {
+                    for (int viewType : viewTypes) {
+                        if (cancelled) {
+                            return;
+                        }
+                        final RecyclerView.ViewHolder viewHolder = create(viewType);
+                        ThreadingUtils.runOnUIThread(new Runnable() {
+                            @Override
+                            public void run() {
+                                seed(viewHolder);
+                            }
+                        });
+                    }
+                }
+            });
+        } else {
+            idleQueue = Looper.myQueue();
+            idleQueue.addIdleHandler(this);
+        }
+    }
+
+    /**
+     * Stops creating holders. Holders already created but not yet pooled are dropped. Must be called on the UI
+     * thread.
+     */
+    void cancel() {
+        cancelled = true;
+        if (idleQueue != null) {
+            idleQueue.removeIdleHandler(this);
+        }
+    }
+
+    private RecyclerView.ViewHolder create(int viewType) {
+        PRE_INFLATING.set(Boolean.TRUE);
+        try {
+            // Goes through the final RecyclerView.Adapter method so the holder knows its view type.
+            return converter.createViewHolder(recyclerView, viewType);
+        } finally {
+            PRE_INFLATING.remove();
+        }
+    }
+
+    private void seed(RecyclerView.ViewHolder viewHolder) {
+        if (!cancelled && converter.getAdapter().getHeadersCount() == headersCount) {
+            recyclerView.getRecycledViewPool().putRecycledView(viewHolder);
+        }
+    }
+
+    // endregion Instance Methods
+}
@@ -0,0 +1,178 @@
+package com.raizlabs.universaladapter.util;
+
+/**
+ * Resolves the positions of an adapter made of headers, items and footers. The {@link PositionSegments} are only
+ * recomputed after a change that can move their boundaries, and the view type of each item can be cached in a
+ * {@link ViewTypeCache} that ranged changes keep current. Every change to the items must be reported through the
+ * {@link ListChangeListener} methods, or through {@link #invalidate()} when it can't be described as ranges.
+ */
+public final class AdapterPositions implements ListChangeListener {
+
+    // region Interface Declaration
+
+    /**
+     * The adapter whose positions are resolved.
+     */
+    public interface Source {
+
+        int getHeadersCount();
+
+        /**
+         * @return The count of items, excluding headers and footers.
+         */
+        int getCount();
+
+        int getFootersCount();
+
+        int getItemViewTypeCount();
+
+        /**
+         * @param position The position of the item, excluding headers.
+         * @return The view type of the item, from 0 to {@link #getItemViewTypeCount()}.
+         */
+        int getItemViewType(int position);
+    }
+
+    // endregion Interface Declaration
+
+    // region Members
+
+    private final Source source;
+
+    /**
+     * The header, item, and footer boundaries. Only current while {@link #segmentsValid}.
+     */
+    private final PositionSegments segments = new PositionSegments();
+    private boolean segmentsValid;
+
+    /**
+     * Optional cache of {@link Source#getItemViewType(int)} by item position.
+     */
+    private ViewTypeCache viewTypeCache;
+
+    // endregion Members
+
+    // region Constructors
+
+    /**
+     * @param source The adapter whose positions are resolved.
+     */
+    public AdapterPositions(Source source) {
+        this.source = source;
+    }
+
+    // endregion Constructors
+
+    // region Accessors
+
+    /**
+     * @param enabled true to cache the view type of each item until a change is reported for its position.
+     */
+    public void setViewTypeCacheEnabled(boolean enabled) {
+        if (enabled && viewTypeCache == null) {
+            viewTypeCache = new ViewTypeCache();
+        } else if (!enabled) {
+            viewTypeCache = null;
+        }
+    }
+
+    public boolean isViewTypeCacheEnabled() {
+        return viewTypeCache != null;
+    }
+
+    /**
+     * @return The current header, item, and footer boundaries.
+     */
+    public PositionSegments getSegments() {
+        if (!segmentsValid) {
+            segments.set(source.getHeadersCount(), source.getCount(), source.getFootersCount());
+            segmentsValid = true;
+        }
+        if (viewTypeCache != null && viewTypeCache.size() != segments.getItemsCount()) {
+            viewTypeCache.reset(segments.getItemsCount());
+        }
+        return segments;
+    }
+
+    /**
+     * @return The count of headers, items and footers.
+     */
+    public int getCount() {
+        return getSegments().getCount();
+    }
+
+    /**
+     * @param position The position including headers and footers.
+     * @return The view type of the position, see {@link PositionSegments#toViewType(int)} and
+     * {@link PositionSegments#getFixedViewType(int, int)}.
+     */
+    public int getViewType(int position) {
+        PositionSegments segments = getSegments();
+        if (segments.getSegment(position) != PositionSegments.SEGMENT_ITEM) {
+            return segments.getFixedViewType(position, source.getItemViewTypeCount());
+        }
+        int adjusted = segments.toItemPosition(position);
+        int viewType;
+        if (viewTypeCache != null) {
+            viewType = viewTypeCache.get(adjusted);
+            if (viewType == ViewTypeCache.UNKNOWN) {
+                viewType = source.getItemViewType(adjusted);
+                viewTypeCache.put(adjusted, viewType);
+            }
+        } else {
+            viewType = source.getItemViewType(adjusted);
+        }
+        return segments.toViewType(viewType);
+    }
+
+    // endregion Accessors
+
+    // region Instance Methods
+
+    /**
+     * Forgets the boundaries and any cached view types.
+     */
+    public void invalidate() {
+        segmentsValid = false;
+        if (viewTypeCache != null) {
+            viewTypeCache.clear();
+        }
+    }
+
+    @Override
+    public void onItemRangeChanged(int start, int count, Object payload) {
+        if (viewTypeCache != null) {
+            viewTypeCache.onItemRangeChanged(start, count);
+        }
+    }
+
+    @Override
+    public void onItemRangeInserted(int start, int count) {
+        segmentsValid = false;
+        if (viewTypeCache != null) {
+            viewTypeCache.onItemRangeInserted(start, count);
+        }
+    }
+
+    @Override
+    public void onItemRangeRemoved(int start, int count) {
+        segmentsValid = false;
+        if (viewTypeCache != null) {
+            viewTypeCache.onItemRangeRemoved(start, count);
+        }
+    }
+
+    @Override
+    public void onItemMoved(int fromPosition, int toPosition) {
+        if (viewTypeCache != null) {
+            viewTypeCache.onItemMoved(fromPosition, toPosition);
+        }
+    }
+
+    @Override
+    public void onGenericChange() {
+        invalidate();
+    }
+
+    // endregion Instance Methods
+}
@@ -0,0 +1,22 @@
+package com.raizlabs.universaladapter.util;
+
+/**
+ * Polled by long running computations so they can stop early once their result is no longer wanted.
+ */
+public interface CancellationToken {
+
+    /**
+     * A token that is never cancelled.
+     */
+    CancellationToken NONE = new CancellationToken() {
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    };
+
+    /**
+     * @return True if the computation should stop as soon as possible.
+     */
+    boolean isCancelled();
+}
@@ -0,0 +1,130 @@
+package com.raizlabs.universaladapter.util;
+
+/**
+ * Sends list changes to a {@link ListChangeListener} as they happen, or records them while a transaction is running
+ * and sends the fewest ranged changes describing them once it ends. Past the
+ * {@link #setTransactionCoalescingThreshold(int) coalescing threshold} a transaction is sent as a single generic
+ * change.
+ */
+public final class ChangeDispatcher implements ListChangeListener {
+
+    // region Members
+
+    private final ListChangeListener listener;
+
+    /**
+     * The changes made during the running transaction.
+     */
+    private final ChangeLog transactionLog = new ChangeLog();
+
+    private boolean runningTransaction;
+
+    // endregion Members
+
+    // region Constructors
+
+    /**
+     * @param listener The listener to send changes to.
+     */
+    public ChangeDispatcher(ListChangeListener listener) {
+        this.listener = listener;
+    }
+
+    // endregion Constructors
+
+    // region Accessors
+
+    /**
+     * @param threshold The maximum number of ranged changes to send for a transaction.
+     * @see ChangeLog#setThreshold(int)
+     */
+    public void setTransactionCoalescingThreshold(int threshold) {
+        transactionLog.setThreshold(threshold);
+    }
+
+    public int getTransactionCoalescingThreshold() {
+        return transactionLog.getThreshold();
+    }
+
+    public boolean isRunningTransaction() {
+        return runningTransaction;
+    }
+
+    // endregion Accessors
+
+    // region Instance Methods
+
+    /**
+     * Starts recording changes instead of sending them.
+     *
+     * @throws IllegalStateException If a transaction is already running.
+     */
+    public void beginTransaction() {
+        if (runningTransaction) {
+            throw new IllegalStateException("Tried to begin a transaction when one was already running!");
+        }
+        runningTransaction = true;
+        transactionLog.clear();
+    }
+
+    /**
+     * Stops recording changes and sends the ones recorded since {@link #beginTransaction()}.
+     *
+     * @throws IllegalStateException If no transaction is running.
+     */
+    public void endTransaction() {
+        if (!runningTransaction) {
+            throw new IllegalStateException("Tried to end a transaction when no transaction was running!");
+        }
+        runningTransaction = false;
+        transactionLog.replay(listener);
+        transactionLog.clear();
+    }
+
+    @Override
+    public void onItemRangeChanged(int start, int count, Object payload) {
+        if (runningTransaction) {
+            transactionLog.onItemRangeChanged(start, count, payload);
+        } else {
+            listener.onItemRangeChanged(start, count, payload);
+        }
+    }
+
+    @Override
+    public void onItemRangeInserted(int start, int count) {
+        if (runningTransaction) {
+            transactionLog.onItemRangeInserted(start, count);
+        } else {
+            listener.onItemRangeInserted(start, count);
+        }
+    }
+
+    @Override
+    public void onItemRangeRemoved(int start, int count) {
+        if (runningTransaction) {
+            transactionLog.onItemRangeRemoved(start, count);
+        } else {
+            listener.onItemRangeRemoved(start, count);
+        }
+    }
+
+    @Override
+    public void onItemMoved(int fromPosition, int toPosition) {
+        if (runningTransaction) {
+            transactionLog.onItemMoved(fromPosition, toPosition);
+        } else {
+            listener.onItemMoved(fromPosition, toPosition);
+        }
+    }
+
+    @Override
+    public void onGenericChange() {
+        if (runningTransaction) {
+            transactionLog.onGenericChange();
+        } else {
+            listener.onGenericChange();
+        }
+    }
+
+    // endregion Instance Methods
+}
@@ -0,0 +1,302 @@
+package com.raizlabs.universaladapter.util;
+
+import java.util.Arrays;
+
+/**
+ * Compact record of ranged list changes. Each recorded change is merged into the previous one when the two describe
+ * a single contiguous change, so a run of adjacent inserts, removes or changes replays as one notification. Changes
+ * are kept in parallel primitive arrays so recording doesn't allocate per change.
+ * <p/>
+ * Once more than {@link #getThreshold()} changes are pending, or a generic change is recorded, the log only reports
+ * {@link #isGeneric()} since replaying that many ranges costs more than a full refresh.
+ */
+public final class ChangeLog implements ListChangeListener {
+
+    // region Constants
+
+    public static final int TYPE_CHANGED = 0;
+    public static final int TYPE_INSERTED = 1;
+    public static final int TYPE_REMOVED = 2;
+
+    /**
+     * A single item moved. {@link #getStart(int)} is the position it moved from and {@link #getToPosition(int)} the
+     * position it moved to.
+     */
+    public static final int TYPE_MOVED = 3;
+
+    /**
+     * The default number of pending changes before the log falls back to a generic change.
+     */
+    public static final int DEFAULT_THRESHOLD = 32;
+
+    // endregion Constants
+
+    // region Members
+
+    private int[] types = new int[8];
+    private int[] starts = new int[8];
+    private int[] counts = new int[8];
+    private Object[] payloads = new Object[8];
+
+    private int size;
+    private boolean generic;
+    private int threshold = DEFAULT_THRESHOLD;
+
+    // endregion Members
+
+    // region Accessors
+
+    /**
+     * @return The number of pending changes. Zero once the log is generic.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return One of {@link #TYPE_CHANGED}, {@link #TYPE_INSERTED}, {@link #TYPE_REMOVED} or {@link #TYPE_MOVED}.
+     */
+    public int getType(int index) {
+        return types[index];
+    }
+
+    public int getStart(int index) {
+        return starts[index];
+    }
+
+    public int getCount(int index) {
+        return counts[index];
+    }
+
+    /**
+     * @return The payload of a {@link #TYPE_CHANGED} change, or null if its items need a full bind.
+     * @see ChangePayloads
+     */
+    public Object getPayload(int index) {
+        return payloads[index];
+    }
+
+    /**
+     * @return The position a {@link #TYPE_MOVED} change moved its item to.
+     */
+    public int getToPosition(int index) {
+        return counts[index];
+    }
+
+    /**
+     * @return True if the recorded changes can only be reported as a generic change.
+     */
+    public boolean isGeneric() {
+        return generic;
+    }
+
+    /**
+     * @return True if nothing has been recorded since the last {@link #clear()}.
+     */
+    public boolean isEmpty() {
+        return size == 0 && !generic;
+    }
+
+    /**
+     * Sets the number of pending changes past which the log falls back to a generic change. Zero or less means every
+     * non-empty log is generic.
+     *
+     * @param threshold The maximum number of changes to keep.
+     */
+    public void setThreshold(int threshold) {
+        this.threshold = threshold;
+        if (size > threshold) {
+            markGeneric();
+        }
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    // endregion Accessors
+
+    // region Instance Methods
+
+    public void onItemRangeChanged(int start, int count) {
+        onItemRangeChanged(start, count, null);
+    }
+
+    /**
+     * Records a change with a payload describing it. A change of the same rows as the last one is merged with it along
+     * with their payloads, see {@link ChangePayloads#merge(Object, Object)}. Overlapping or adjacent changes are only
+     * merged into one range when their payloads are equal, so no row is bound with a payload for a change it didn't
+     * have.
+     */
+    @Override
+    public void onItemRangeChanged(int start, int count, Object payload) {
+        if (generic || count <= 0) {
+            return;
+        }
+        if (size > 0) {
+            int last = size - 1;
+            int lastStart = starts[last];
+            int lastCount = counts[last];
+            if (types[last] == TYPE_CHANGED && start == lastStart && count == lastCount) {
+                payloads[last] = ChangePayloads.merge(payloads[last], payload);
+                return;
+            } else if (types[last] == TYPE_CHANGED && start <= lastStart + lastCount && start + count >= lastStart
+                    && isSamePayload(payloads[last], payload)) {
+                int end = Math.max(lastStart + lastCount, start + count);
+                starts[last] = Math.min(lastStart, start);
+                counts[last] = end - starts[last];
+                return;
+            } else if (types[last] == TYPE_INSERTED && start >= lastStart
+                    && start + count <= lastStart + lastCount) {
+                // The inserted items are bound fresh anyway.
+                return;
+            }
+        }
+        append(TYPE_CHANGED, start, count);
+        if (!generic) {
+            payloads[size - 1] = payload;
+        }
+    }
+
+    @Override
+    public void onItemRangeInserted(int start, int count) {
+        if (generic || count <= 0) {
+            return;
+        }
+        if (size > 0) {
+            int last = size - 1;
+            if (types[last] == TYPE_INSERTED && start >= starts[last] && start <= starts[last] + counts[last]) {
+                counts[last] += count;
+                return;
+            }
+        }
+        append(TYPE_INSERTED, start, count);
+    }
+
+    @Override
+    public void onItemRangeRemoved(int start, int count) {
+        if (generic || count <= 0) {
+            return;
+        }
+        if (size > 0) {
+            int last = size - 1;
+            int lastStart = starts[last];
+            int lastCount = counts[last];
+            if (types[last] == TYPE_REMOVED && lastStart >= start && lastStart <= start + count) {
+                starts[last] = start;
+                counts[last] = lastCount + count;
+                return;
+            } else if (types[last] == TYPE_INSERTED && start >= lastStart
+                    && start + count <= lastStart + lastCount) {
+                // Removing items that were only just inserted cancels out.
+                counts[last] = lastCount - count;
+                if (counts[last] == 0) {
+                    size--;
+                }
+                return;
+            }
+        }
+        append(TYPE_REMOVED, start, count);
+    }
+
+    /**
+     * Records that the item at one position was moved to another, as in {@link java.util.List#add(int, Object)} of
+     * the item removed from the first position.
+     */
+    @Override
+    public void onItemMoved(int fromPosition, int toPosition) {
+        if (generic || fromPosition == toPosition) {
+            return;
+        }
+        append(TYPE_MOVED, fromPosition, toPosition);
+    }
+
+    @Override
+    public void onGenericChange() {
+        markGeneric();
+    }
+
+    /**
+     * Shifts every recorded change by the given number of positions, such as when the changes were computed for a
+     * sublist.
+     *
+     * @param delta The number of positions to add.
+     */
+    public void offset(int delta) {
+        for (int i = 0; i < size; i++) {
+            starts[i] += delta;
+            if (types[i] == TYPE_MOVED) {
+                counts[i] += delta;
+            }
+        }
+    }
+
+    /**
+     * Sends the recorded changes to the listener in the order they apply, or a single generic change if the log is
+     * generic. Nothing is sent for an empty log.
+     *
+     * @param listener The listener to send the changes to.
+     */
+    public void replay(ListChangeListener listener) {
+        if (generic) {
+            listener.onGenericChange();
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            switch (types[i]) {
+                case TYPE_CHANGED:
+                    listener.onItemRangeChanged(starts[i], counts[i], payloads[i]);
+                    break;
+                case TYPE_INSERTED:
+                    listener.onItemRangeInserted(starts[i], counts[i]);
+                    break;
+                case TYPE_REMOVED:
+                    listener.onItemRangeRemoved(starts[i], counts[i]);
+                    break;
+                case TYPE_MOVED:
+                    listener.onItemMoved(starts[i], counts[i]);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Forgets every recorded change.
+     */
+    public void clear() {
+        Arrays.fill(payloads, 0, size, null);
+        size = 0;
+        generic = false;
+    }
+
+    private void append(int type, int start, int count) {
+        if (size >= threshold) {
+            markGeneric();
+            return;
+        }
+        if (size == types.length) {
+            int capacity = size * 2;
+            types = Arrays.copyOf(types, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            payloads = Arrays.copyOf(payloads, capacity);
+        }
+        types[size] = type;
+        starts[size] = start;
+        counts[size] = count;
+        payloads[size] = null;
+        size++;
+    }
+
+    private static boolean isSamePayload(Object payload, Object otherPayload) {
+        return payload == null ? otherPayload == null : payload.equals(otherPayload);
+    }
+
+    private void markGeneric() {
+        Arrays.fill(payloads, 0, size, null);
+        generic = true;
+        size = 0;
+    }
+
+    // endregion Instance Methods
+}
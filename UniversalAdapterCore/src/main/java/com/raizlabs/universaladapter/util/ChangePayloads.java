@@ -0,0 +1,75 @@
+package com.raizlabs.universaladapter.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Several change payloads merged into one, so a single ranged change can carry every partial update made to its
+ * items. A null payload means the items need a full bind, so merging it with anything yields null.
+ */
+public final class ChangePayloads {
+
+    // region Members
+
+    private final List<Object> payloads;
+
+    // endregion Members
+
+    // region Constructors
+
+    private ChangePayloads(List<Object> payloads) {
+        this.payloads = payloads;
+    }
+
+    // endregion Constructors
+
+    // region Accessors
+
+    /**
+     * @return The merged payloads, without duplicates.
+     */
+    public List<Object> getPayloads() {
+        return Collections.unmodifiableList(payloads);
+    }
+
+    // endregion Accessors
+
+    // region Instance Methods
+
+    /**
+     * Merges two payloads for the same items.
+     *
+     * @return Null if either payload is null, otherwise a payload carrying both.
+     */
+    public static Object merge(Object first, Object second) {
+        if (first == null || second == null) {
+            return null;
+        }
+        if (first.equals(second)) {
+            return first;
+        }
+        List<Object> payloads = new ArrayList<>();
+        addTo(payloads, first);
+        addTo(payloads, second);
+        return new ChangePayloads(payloads);
+    }
+
+    /**
+     * Adds the payload to the list, unwrapping merged payloads and skipping payloads already in it.
+     *
+     * @param out     The list of distinct payloads.
+     * @param payload The payload to add. Nulls are ignored.
+     */
+    public static void addTo(List<Object> out, Object payload) {
+        if (payload instanceof ChangePayloads) {
+            for (Object nested : ((ChangePayloads) payload).payloads) {
+                addTo(out, nested);
+            }
+        } else if (payload != null && !out.contains(payload)) {
+            out.add(payload);
+        }
+    }
+
+    // endregion Instance Methods
+}
@@ -0,0 +1,113 @@
+package com.raizlabs.universaladapter.util;
+
+import java.util.List;
+
+/**
+ * The algorithms available for diffing two versions of a list. Every strategy first skips the items the lists
+ * start and end with, so a list that only gained or lost items at its head or tail costs O(changed) and is reported
+ * as a single ranged insert or remove.
+ */
+public enum DiffStrategy {
+
+    /**
+     * {@link MyersDiff}: the shortest edit script, in time proportional to the list size times the number of edits.
+     * Reports moved items as a removal and an insertion.
+     */
+    MYERS {
+        @Override
+        protected <Item> ChangeLog diffRange(List<? extends Item> oldList, List<? extends Item> newList,
+                                     ItemDiffCallback<? super Item> callback, CancellationToken cancellation) {
+            return MyersDiff.diff(oldList, newList, callback, cancellation);
+        }
+    },
+
+    /**
+     * {@link HeckelDiff}: linear time matching by key that reports moves. Requires a {@link KeyedItemDiffCallback};
+     * other callbacks use {@link #MYERS}.
+     */
+    HECKEL {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected <Item> ChangeLog diffRange(List<? extends Item> oldList, List<? extends Item> newList,
+                                     ItemDiffCallback<? super Item> callback, CancellationToken cancellation) {
+            if (callback instanceof KeyedItemDiffCallback) {
+                return HeckelDiff.diff(oldList, newList, (KeyedItemDiffCallback<? super Item>) callback,
+                                       cancellation);
+            }
+            return MyersDiff.diff(oldList, newList, callback, cancellation);
+        }
+    };
+
+    /**
+     * Computes the changes that turn the old list into the new one.
+     *
+     * @return The changes, or null if the diff was cancelled.
+     */
+    public <Item> ChangeLog diff(List<? extends Item> oldList, List<? extends Item> newList,
+                                 ItemDiffCallback<? super Item> callback, CancellationToken cancellation) {
+        int oldSize = oldList.size();
+        int newSize = newList.size();
+        int minSize = Math.min(oldSize, newSize);
+
+        int prefix = 0;
+        while (prefix < minSize && isSameItem(oldList.get(prefix), newList.get(prefix), callback)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < minSize - prefix
+                && isSameItem(oldList.get(oldSize - suffix - 1), newList.get(newSize - suffix - 1), callback)) {
+            suffix++;
+        }
+
+        int oldMiddle = oldSize - prefix - suffix;
+        int newMiddle = newSize - prefix - suffix;
+        ChangeLog changeLog;
+        if (oldMiddle == 0 || newMiddle == 0) {
+            changeLog = new ChangeLog();
+            changeLog.setThreshold(Integer.MAX_VALUE);
+            changeLog.onItemRangeInserted(prefix, newMiddle);
+            changeLog.onItemRangeRemoved(prefix, oldMiddle);
+        } else {
+            changeLog = diffRange(oldList.subList(prefix, prefix + oldMiddle),
+                                  newList.subList(prefix, prefix + newMiddle), callback, cancellation);
+            if (changeLog == null || changeLog.isGeneric()) {
+                return changeLog;
+            }
+            changeLog.offset(prefix);
+        }
+
+        // Items kept at either edge may still have changed.
+        for (int i = 0; i < prefix; i++) {
+            reportChange(oldList.get(i), newList.get(i), i, callback, changeLog);
+        }
+        for (int i = 0; i < suffix; i++) {
+            int newPosition = newSize - suffix + i;
+            reportChange(oldList.get(oldSize - suffix + i), newList.get(newPosition), newPosition, callback,
+                         changeLog);
+        }
+        return changeLog;
+    }
+
+    /**
+     * Computes the changes that turn the old list into the new one, once their common prefix and suffix are removed.
+     *
+     * @return The changes, or null if the diff was cancelled.
+     */
+    protected abstract <Item> ChangeLog diffRange(List<? extends Item> oldList, List<? extends Item> newList,
+                                                  ItemDiffCallback<? super Item> callback,
+                                                  CancellationToken cancellation);
+
+    /**
+     * The identity check lets lists that reuse their item instances skip the callback entirely.
+     */
+    private static <Item> boolean isSameItem(Item oldItem, Item newItem, ItemDiffCallback<? super Item> callback) {
+        return oldItem == newItem || callback.areItemsTheSame(oldItem, newItem);
+    }
+
+    private static <Item> void reportChange(Item oldItem, Item newItem, int position,
+                                            ItemDiffCallback<? super Item> callback, ChangeLog changeLog) {
+        if (oldItem != newItem && !callback.areContentsTheSame(oldItem, newItem)) {
+            changeLog.onItemRangeChanged(position, 1);
+        }
+    }
+}
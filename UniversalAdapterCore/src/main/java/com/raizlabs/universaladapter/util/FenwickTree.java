@@ -0,0 +1,245 @@
+package com.raizlabs.universaladapter.util;
+
+/**
+ * A binary indexed tree of non-negative counts. It keeps the running offsets of a list of sections, such as the
+ * pieces of a merged adapter, so that a change in one section updates every later offset in O(log n) and a position
+ * can be resolved to its section in O(log n). Inserting or removing a section rebuilds the tree in O(n).
+ */
+public final class FenwickTree {
+
+    // region Members
+
+    /**
+     * 1-based tree of partial sums.
+     */
+    private int[] tree;
+
+    /**
+     * The raw count of each section, 0-based.
+     */
+    private int[] values;
+
+    private int size;
+
+    private int total;
+
+    // endregion Members
+
+    // region Constructors
+
+    public FenwickTree() {
+        this(8);
+    }
+
+    /**
+     * @param capacity The initial number of sections to allocate room for.
+     */
+    public FenwickTree(int capacity) {
+        capacity = Math.max(capacity, 1);
+        tree = new int[capacity + 1];
+        values = new int[capacity];
+    }
+
+    // endregion Constructors
+
+    // region Accessors
+
+    /**
+     * @return The number of sections in this tree.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The sum of all sections. This is cached and costs O(1).
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * @param index The index of the section.
+     * @return The count of the section.
+     */
+    public int get(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    // endregion Accessors
+
+    // region Instance Methods
+
+    /**
+     * Adds a delta to the count of a single section, shifting the offsets of all later sections.
+     *
+     * @param index The index of the section.
+     * @param delta The amount to add to the count of the section.
+     */
+    public void add(int index, int delta) {
+        checkIndex(index);
+        values[index] += delta;
+        total += delta;
+        for (int i = index + 1; i <= size; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Sets the count of a single section.
+     *
+     * @param index The index of the section.
+     * @param count The new count.
+     */
+    public void set(int index, int count) {
+        add(index, count - get(index));
+    }
+
+    /**
+     * @param index The index of the section.
+     * @return The sum of the counts of all sections before the given one, which is its start offset.
+     */
+    public int getPrefixSum(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int sum = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Finds the section which contains the given position. Empty sections never contain a position.
+     *
+     * @param position The position within the total of all sections.
+     * @return The index of the section containing the position, or -1 if it is out of range.
+     */
+    public int indexOf(int position) {
+        if (position < 0 || position >= total) {
+            return -1;
+        }
+
+        int index = 0;
+        int remaining = position;
+        for (int step = Integer.highestOneBit(size); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next <= size && tree[next] <= remaining) {
+                index = next;
+                remaining -= tree[next];
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Inserts a new section, shifting the following sections up by one index. This rebuilds the tree.
+     *
+     * @param index The index to insert the section at.
+     * @param count The count of the new section.
+     */
+    public void insert(int index, int count) {
+        insert(index, new int[]{count}, 1);
+    }
+
+    /**
+     * Inserts several new sections, shifting the following sections up. This rebuilds the tree once.
+     *
+     * @param index  The index to insert the first section at.
+     * @param counts The counts of the new sections.
+     * @param length The number of counts to read.
+     */
+    public void insert(int index, int[] counts, int length) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        ensureCapacity(size + length);
+        System.arraycopy(values, index, values, index + length, size - index);
+        System.arraycopy(counts, 0, values, index, length);
+        size += length;
+        rebuild();
+    }
+
+    /**
+     * Removes a section, shifting the following sections down by one index. This rebuilds the tree.
+     *
+     * @param index The index of the section to remove.
+     * @return The count the removed section had.
+     */
+    public int remove(int index) {
+        checkIndex(index);
+        int count = values[index];
+        remove(index, 1);
+        return count;
+    }
+
+    /**
+     * Removes several consecutive sections, shifting the following sections down. This rebuilds the tree once.
+     *
+     * @param index The index of the first section to remove.
+     * @param count The number of sections to remove.
+     */
+    public void remove(int index, int count) {
+        if (index < 0 || count < 0 || index + count > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Count: " + count + ", Size: " + size);
+        }
+        System.arraycopy(values, index + count, values, index, size - index - count);
+        size -= count;
+        rebuild();
+    }
+
+    /**
+     * Replaces all of the sections with the given counts.
+     *
+     * @param counts The counts of the sections.
+     * @param size   The number of counts to read.
+     */
+    public void reset(int[] counts, int size) {
+        ensureCapacity(size);
+        System.arraycopy(counts, 0, values, 0, size);
+        this.size = size;
+        rebuild();
+    }
+
+    /**
+     * Removes all of the sections.
+     */
+    public void clear() {
+        size = 0;
+        total = 0;
+    }
+
+    private void rebuild() {
+        total = 0;
+        for (int i = 1; i <= size; i++) {
+            tree[i] = values[i - 1];
+            total += values[i - 1];
+        }
+        for (int i = 1; i <= size; i++) {
+            int parent = i + (i & -i);
+            if (parent <= size) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (values.length < capacity) {
+            int newCapacity = Math.max(capacity, values.length * 2);
+            int[] newValues = new int[newCapacity];
+            System.arraycopy(values, 0, newValues, 0, size);
+            values = newValues;
+            tree = new int[newCapacity + 1];
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    // endregion Instance Methods
+}
@@ -0,0 +1,213 @@
+package com.raizlabs.universaladapter.util;
+
+import java.util.List;
+
+/**
+ * Computes the changes between two lists of uniquely keyed items using Heckel's hash matching. Items are matched
+ * through a primitive key to index map in O(N + M), and the matched items that keep their relative order are found
+ * with a longest increasing subsequence in O(N log N). Every other matched item is reported as a move, so a
+ * reordered item is not rebound.
+ * <p/>
+ * Unlike {@link MyersDiff} the result is not necessarily the shortest edit script, but the cost does not grow with the
+ * number of edits, which suits very large lists. Lists with duplicate keys fall back to {@link MyersDiff}.
+ */
+public final class HeckelDiff {
+
+    // region Constructors
+
+    private HeckelDiff() {
+    }
+
+    // endregion Constructors
+
+    // region Instance Methods
+
+    /**
+     * Computes the changes that turn the old list into the new one. Replaying the returned {@link ChangeLog} in
+     * order against the old list yields the new list: removals first, then moves, insertions and changes.
+     *
+     * @param oldList      The list currently displayed.
+     * @param newList      The list to display.
+     * @param callback     Provides the keys of the items and whether matched items changed.
+     * @param cancellation Checked between each phase of the diff.
+     * @return The changes, or null if the diff was cancelled.
+     */
+    public static <Item> ChangeLog diff(List<? extends Item> oldList, List<? extends Item> newList,
+                                       KeyedItemDiffCallback<? super Item> callback,
+                                       CancellationToken cancellation) {
+        int oldSize = oldList.size();
+        int newSize = newList.size();
+
+        // Match every new item to the old item with the same key.
+        LongIntHashMap oldIndices = new LongIntHashMap(oldSize);
+        for (int i = 0; i < oldSize; i++) {
+            if (!oldIndices.put(callback.getItemKey(oldList.get(i)), i)) {
+                return MyersDiff.diff(oldList, newList, callback, cancellation);
+            }
+        }
+        int[] oldToNew = new int[oldSize];
+        int[] newToOld = new int[newSize];
+        for (int i = 0; i < oldSize; i++) {
+            oldToNew[i] = -1;
+        }
+        int retainedCount = 0;
+        for (int j = 0; j < newSize; j++) {
+            int oldIndex = oldIndices.get(callback.getItemKey(newList.get(j)), -1);
+            if (oldIndex >= 0) {
+                if (oldToNew[oldIndex] >= 0) {
+                    return MyersDiff.diff(oldList, newList, callback, cancellation);
+                }
+                oldToNew[oldIndex] = j;
+                retainedCount++;
+            }
+            newToOld[j] = oldIndex;
+        }
+        if (cancellation.isCancelled()) {
+            return null;
+        }
+
+        ChangeLog changeLog = new ChangeLog();
+        changeLog.setThreshold(Integer.MAX_VALUE);
+
+        // Remove unmatched old items, last first so positions stay valid.
+        for (int i = oldSize - 1; i >= 0; i--) {
+            if (oldToNew[i] < 0) {
+                changeLog.onItemRangeRemoved(i, 1);
+            }
+        }
+
+        // Rank the retained items by their new position, then order the ranks by old position.
+        int[] ranksByNew = new int[newSize];
+        int rank = 0;
+        for (int j = 0; j < newSize; j++) {
+            ranksByNew[j] = newToOld[j] >= 0 ? rank++ : -1;
+        }
+        int[] ranks = new int[retainedCount];
+        int[] rankPositions = new int[retainedCount];
+        int retainedIndex = 0;
+        for (int i = 0; i < oldSize; i++) {
+            if (oldToNew[i] >= 0) {
+                int itemRank = ranksByNew[oldToNew[i]];
+                ranks[retainedIndex] = itemRank;
+                rankPositions[itemRank] = retainedIndex;
+                retainedIndex++;
+            }
+        }
+        boolean[] stable = findIncreasingSubsequence(ranks);
+        if (cancellation.isCancelled()) {
+            return null;
+        }
+
+        reportMoves(ranks, rankPositions, stable, changeLog);
+        if (cancellation.isCancelled()) {
+            return null;
+        }
+
+        for (int j = 0; j < newSize; j++) {
+            if (newToOld[j] < 0) {
+                changeLog.onItemRangeInserted(j, 1);
+            }
+        }
+        for (int j = 0; j < newSize; j++) {
+            int oldIndex = newToOld[j];
+            if (oldIndex >= 0 && !callback.areContentsTheSame(oldList.get(oldIndex), newList.get(j))) {
+                changeLog.onItemRangeChanged(j, 1);
+            }
+        }
+        return changeLog;
+    }
+
+    /**
+     * Moves every item outside the increasing subsequence directly after the item ranked before it, in rank order.
+     * Stable items never move, so the list ends up ordered by rank.
+     * <p/>
+     * A moved item stays directly after the chain of items ranked before it, which starts at a stable item (its root)
+     * or at the front of the list. This lets the current position of any item be counted with Fenwick trees instead
+     * of simulating the list.
+     *
+     * @param ranks         The rank of each retained item, in old order.
+     * @param rankPositions The old order index of each rank.
+     * @param stable        Whether each retained item, in old order, is part of the increasing subsequence.
+     * @param changeLog     Receives the moves.
+     */
+    private static void reportMoves(int[] ranks, int[] rankPositions, boolean[] stable, ChangeLog changeLog) {
+        int count = ranks.length;
+        int[] stableBefore = new int[count + 1];
+        int[] unmovedCounts = new int[count];
+        int[] anchoredCounts = new int[count];
+        for (int i = 0; i < count; i++) {
+            stableBefore[i + 1] = stableBefore[i] + (stable[i] ? 1 : 0);
+            unmovedCounts[i] = stable[i] ? 0 : 1;
+            anchoredCounts[ranks[i]] = stable[i] ? 1 : 0;
+        }
+        // Non-stable items still at their old place, by old order.
+        FenwickTree unmoved = new FenwickTree(count);
+        unmoved.reset(unmovedCounts, count);
+        // Stable and already moved items, by rank.
+        FenwickTree anchored = new FenwickTree(count);
+        anchored.reset(anchoredCounts, count);
+        // Moved items by the old order index of their root plus one, the front of the list being zero.
+        FenwickTree movedRoots = new FenwickTree(count + 1);
+        movedRoots.reset(new int[count + 1], count + 1);
+        int[] roots = new int[count];
+
+        for (int rank = 0; rank < count; rank++) {
+            int index = rankPositions[rank];
+            if (stable[index]) {
+                roots[rank] = index;
+                continue;
+            }
+
+            int fromPosition = stableBefore[index] + unmoved.getPrefixSum(index) + movedRoots.getPrefixSum(index + 1);
+            int root = -1;
+            int previousPosition = -1;
+            if (rank > 0) {
+                root = roots[rank - 1];
+                previousPosition = anchored.getPrefixSum(rank - 1) + (root >= 0 ? unmoved.getPrefixSum(root) : 0);
+            }
+            int toPosition = fromPosition > previousPosition ? previousPosition + 1 : previousPosition;
+            changeLog.onItemMoved(fromPosition, toPosition);
+
+            roots[rank] = root;
+            unmoved.add(index, -1);
+            anchored.add(rank, 1);
+            movedRoots.add(root + 1, 1);
+        }
+    }
+
+    /**
+     * @return Which values belong to a longest strictly increasing subsequence of the given distinct values.
+     */
+    private static boolean[] findIncreasingSubsequence(int[] values) {
+        int count = values.length;
+        // tails[length - 1] is the index of the smallest value ending an increasing subsequence of that length.
+        int[] tails = new int[count];
+        int[] previous = new int[count];
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[tails[middle]] < values[i]) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+
+        boolean[] inSubsequence = new boolean[count];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            inSubsequence[i] = true;
+        }
+        return inSubsequence;
+    }
+
+    // endregion Instance Methods
+}
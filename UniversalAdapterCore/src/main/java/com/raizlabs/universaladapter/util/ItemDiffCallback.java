@@ -0,0 +1,22 @@
+package com.raizlabs.universaladapter.util;
+
+/**
+ * Decides how two versions of a list relate when computing a diff between them.
+ *
+ * @param <Item> The type of item in the lists.
+ */
+public interface ItemDiffCallback<Item> {
+
+    /**
+     * @return True if both items represent the same entity, such as two rows with the same database id. Items that
+     * are the same are kept in place instead of being removed and inserted again.
+     */
+    boolean areItemsTheSame(Item oldItem, Item newItem);
+
+    /**
+     * Only called for items that are the same.
+     *
+     * @return True if the items display identically, false if the item should be reported as changed.
+     */
+    boolean areContentsTheSame(Item oldItem, Item newItem);
+}
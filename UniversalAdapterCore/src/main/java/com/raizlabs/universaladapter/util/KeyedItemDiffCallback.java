@@ -0,0 +1,15 @@
+package com.raizlabs.universaladapter.util;
+
+/**
+ * An {@link ItemDiffCallback} whose items are identified by a unique long key, such as a database id. Keyed items can
+ * be matched with a hash lookup instead of pairwise comparisons, see {@link HeckelDiff}.
+ *
+ * @param <Item> The type of item in the lists.
+ */
+public interface KeyedItemDiffCallback<Item> extends ItemDiffCallback<Item> {
+
+    /**
+     * @return The key of the item. Two items are the same if and only if their keys are equal.
+     */
+    long getItemKey(Item item);
+}
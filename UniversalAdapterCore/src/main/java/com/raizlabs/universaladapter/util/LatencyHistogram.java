@@ -0,0 +1,137 @@
+package com.raizlabs.universaladapter.util;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of durations in nanoseconds with log-linear buckets: eight buckets per power of two, so any recorded
+ * value is reported within 12.5% of its actual value. All buckets are allocated up front, so recording never
+ * allocates. Not thread safe.
+ */
+public final class LatencyHistogram {
+
+    // region Constants
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Values from 2^MAX_EXPONENT nanoseconds, about half an hour, fall in the last bucket.
+     */
+    private static final int MAX_EXPONENT = 40;
+
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    // endregion Constants
+
+    // region Members
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    // endregion Members
+
+    // region Accessors
+
+    /**
+     * @return The number of recorded values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The sum of the recorded values.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return The largest recorded value, or zero if none were recorded.
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * @return The mean of the recorded values, or zero if none were recorded.
+     */
+    public long getMeanNanos() {
+        return count > 0 ? totalNanos / count : 0;
+    }
+
+    /**
+     * @param percentile The percentile, from 0 to 100.
+     * @return The value that the given percentage of recorded values don't exceed, rounded up to its bucket, or zero
+     * if none were recorded.
+     */
+    public long getPercentileNanos(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(getBucketUpperBound(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    // endregion Accessors
+
+    // region Instance Methods
+
+    /**
+     * @param nanos The duration to record. Negative durations are recorded as zero.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts[getBucketIndex(nanos)]++;
+        count++;
+        totalNanos += nanos;
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+    }
+
+    /**
+     * Forgets every recorded value.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    private static int getBucketIndex(long nanos) {
+        if (nanos < SUB_BUCKET_COUNT) {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long getBucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKET_COUNT;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((SUB_BUCKET_COUNT + subBucket) * width) + width - 1;
+    }
+
+    // endregion Instance Methods
+}
@@ -0,0 +1,21 @@
+package com.raizlabs.universaladapter.util;
+
+/**
+ * Receives ranged changes of a list, such as those recorded in and replayed from a {@link ChangeLog}.
+ */
+public interface ListChangeListener {
+
+    void onItemRangeChanged(int start, int count, Object payload);
+
+    void onItemRangeInserted(int start, int count);
+
+    void onItemRangeRemoved(int start, int count);
+
+    /**
+     * The item at one position was moved to another, as in {@link java.util.List#add(int, Object)} of the item
+     * removed from the first position.
+     */
+    void onItemMoved(int fromPosition, int toPosition);
+
+    void onGenericChange();
+}
@@ -0,0 +1,156 @@
+package com.raizlabs.universaladapter.util;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Edits a {@link List} and reports each edit to a {@link ListChangeListener} as the ranged change it made. Edits that
+ * can't be described as a range, such as {@link #removeAll(Collection)}, are reported as a generic change.
+ *
+ * @param <Item> The type of item in the list.
+ */
+public final class ListEditor<Item> {
+
+    // region Members
+
+    private final ListChangeListener listener;
+
+    private volatile List<Item> list;
+
+    // endregion Members
+
+    // region Constructors
+
+    /**
+     * @param list     The list to edit, which is used directly.
+     * @param listener The listener to report edits to.
+     */
+    public ListEditor(List<Item> list, ListChangeListener listener) {
+        this.list = list;
+        this.listener = listener;
+    }
+
+    // endregion Constructors
+
+    // region Accessors
+
+    public List<Item> getList() {
+        return list;
+    }
+
+    /**
+     * Replaces the list being edited. Nothing is reported, since the caller knows best how the lists differ.
+     *
+     * @param list The list to edit from now on, which is used directly.
+     */
+    public void setList(List<Item> list) {
+        this.list = list;
+    }
+
+    // endregion Accessors
+
+    // region Instance Methods
+
+    public void add(int location, Item object) {
+        list.add(location, object);
+        listener.onItemRangeInserted(location, 1);
+    }
+
+    public boolean add(Item object) {
+        int location = list.size();
+        boolean result = list.add(object);
+        listener.onItemRangeInserted(location, 1);
+        return result;
+    }
+
+    public boolean addAll(int location, Collection<? extends Item> collection) {
+        if (list.addAll(location, collection)) {
+            listener.onItemRangeInserted(location, collection.size());
+            return true;
+        }
+        return false;
+    }
+
+    public boolean addAll(Collection<? extends Item> collection) {
+        int location = list.size();
+        if (list.addAll(collection)) {
+            listener.onItemRangeInserted(location, collection.size());
+            return true;
+        }
+        return false;
+    }
+
+    public void clear() {
+        int count = list.size();
+        list.clear();
+        listener.onItemRangeRemoved(0, count);
+    }
+
+    public Item remove(int location) {
+        Item result = list.remove(location);
+        listener.onItemRangeRemoved(location, 1);
+        return result;
+    }
+
+    public boolean remove(Object object) {
+        int location = list.indexOf(object);
+        if (location >= 0) {
+            remove(location);
+            return true;
+        }
+        return false;
+    }
+
+    public boolean removeAll(Collection<?> collection) {
+        boolean result = list.removeAll(collection);
+        if (result) {
+            listener.onGenericChange();
+        }
+        return result;
+    }
+
+    public boolean retainAll(Collection<?> collection) {
+        boolean result = list.retainAll(collection);
+        if (result) {
+            listener.onGenericChange();
+        }
+        return result;
+    }
+
+    /**
+     * Replaces the item at the given position, reporting a change only if the new item isn't equal to the old one.
+     *
+     * @return The item previously at the position.
+     */
+    public Item set(int location, Item object) {
+        Item result = list.set(location, object);
+        if (!result.equals(object)) {
+            listener.onItemRangeChanged(location, 1, null);
+        }
+        return result;
+    }
+
+    /**
+     * Replaces the item at the given position and always reports the change with the given payload.
+     *
+     * @param payload Describes the change, or null for a full bind.
+     * @return The item previously at the position.
+     */
+    public Item set(int location, Item object, Object payload) {
+        Item result = list.set(location, object);
+        listener.onItemRangeChanged(location, 1, payload);
+        return result;
+    }
+
+    /**
+     * Moves the item at one position to another, shifting the items in between, and reports a single move.
+     */
+    public void move(int fromPosition, int toPosition) {
+        if (fromPosition != toPosition) {
+            list.add(toPosition, list.remove(fromPosition));
+            listener.onItemMoved(fromPosition, toPosition);
+        }
+    }
+
+    // endregion Instance Methods
+}
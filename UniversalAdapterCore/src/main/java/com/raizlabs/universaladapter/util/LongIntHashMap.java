@@ -0,0 +1,118 @@
+package com.raizlabs.universaladapter.util;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from primitive long keys to primitive int values. Avoids boxing every key when indexing
+ * large lists, at the cost of only supporting inserts and lookups.
+ */
+public final class LongIntHashMap {
+
+    // region Members
+
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    // endregion Members
+
+    // region Constructors
+
+    /**
+     * @param expectedSize The number of keys expected, used to size the table so it never needs to grow.
+     */
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 2) * 2 - 1) << 1;
+        allocate(capacity);
+    }
+
+    // endregion Constructors
+
+    // region Accessors
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param key          The key to look up.
+     * @param defaultValue Returned if the key is not mapped.
+     * @return The value mapped to the key, or the default value.
+     */
+    public int get(long key, int defaultValue) {
+        int index = hash(key) & mask;
+        while (used[index]) {
+            if (keys[index] == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    // endregion Accessors
+
+    // region Instance Methods
+
+    /**
+     * Maps the key to the value, replacing any previous value.
+     *
+     * @return True if the key was not mapped before.
+     */
+    public boolean put(long key, int value) {
+        int index = hash(key) & mask;
+        while (used[index]) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        used[index] = true;
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        if (size * 2 > keys.length) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * Removes every key.
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private static int hash(long key) {
+        // Spread the bits of sequential ids so they don't cluster in neighbouring slots.
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    // endregion Instance Methods
+}
@@ -0,0 +1,557 @@
+package com.raizlabs.universaladapter.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves the positions and view types of a list made of consecutive pieces, such as the adapters of a merged
+ * adapter. The counts of the pieces are kept in a {@link FenwickTree}, so a change within one piece and a position
+ * lookup both cost O(log n). Pieces can be inserted, removed and moved in place, which only assigns or releases the
+ * view types of the pieces involved instead of matching up every piece again as {@link #setPieces(List)} does.
+ * <p/>
+ * Each view type of each piece gets its own view type in the merged list when the piece is added, which it keeps for
+ * as long as it is part of the list, so adding, removing or moving other pieces never renumbers it. View types that
+ * share a {@link Piece#getViewTypeKey(int) key} share a merged view type. Once no piece has a merged view type any
+ * more it is handed out again, so the count of merged view types stays bounded by the most the pieces had at once
+ * instead of growing with every replaced piece.
+ *
+ * @param <P> The type of piece.
+ */
+public final class MergeIndex<P extends MergeIndex.Piece> {
+
+    // region Interface Declaration
+
+    /**
+     * A piece of the merged list.
+     */
+    public interface Piece {
+
+        /**
+         * @return The count of positions in the piece.
+         */
+        int getCount();
+
+        /**
+         * @return The count of view types of the piece, numbered from 0.
+         */
+        int getViewTypeCount();
+
+        /**
+         * @param viewType A view type of the piece.
+         * @return A key shared by view types of other pieces that can use the same views, or null if the view type is
+         * not shared.
+         */
+        Object getViewTypeKey(int viewType);
+    }
+
+    // endregion Interface Declaration
+
+    // region Members
+
+    /**
+     * The bits a piece id may use.
+     */
+    private final int pieceIdMask;
+
+    private final List<P> pieces = new ArrayList<>();
+
+    /**
+     * Counts of the pieces, indexed the same as {@link #pieces}.
+     */
+    private final FenwickTree pieceCounts = new FenwickTree();
+
+    /**
+     * Maps each view type of each piece to its merged view type, indexed the same as {@link #pieces}. Null until the
+     * view types of the piece are assigned. May be longer than {@link #pieces}.
+     */
+    private int[][] pieceViewTypes = new int[0][];
+
+    /**
+     * The id of each piece, indexed the same as {@link #pieces}. May be longer than {@link #pieces}.
+     */
+    private int[] pieceIds = new int[0];
+
+    /**
+     * Maps each merged view type to the index of a piece that has it, or -1 if no current piece has it.
+     */
+    private int[] viewTypePieces = new int[0];
+
+    /**
+     * Maps each merged view type to the view type of the piece in {@link #viewTypePieces}.
+     */
+    private int[] viewTypeLocals = new int[0];
+
+    /**
+     * The number of view types of pieces mapped to each merged view type. A merged view type is released once this
+     * drops to zero.
+     */
+    private int[] viewTypeReferences = new int[0];
+
+    /**
+     * The key of each merged view type, or null if it is not shared.
+     */
+    private Object[] viewTypeKeys = new Object[0];
+
+    /**
+     * The number of merged view types handed out so far, including released ones.
+     */
+    private int viewTypeCount;
+
+    /**
+     * Released merged view types, handed out again before any new one. Used as a stack of
+     * {@link #freeViewTypeCount} entries.
+     */
+    private int[] freeViewTypes = new int[0];
+
+    private int freeViewTypeCount;
+
+    /**
+     * The merged view type of each key some current piece has.
+     */
+    private final Map<Object, Integer> keyedViewTypes = new HashMap<>();
+
+    /**
+     * The next piece id to hand out. Ids are not reused until they wrap around {@link #pieceIdMask}.
+     */
+    private int nextPieceId;
+
+    // endregion Members
+
+    // region Constructors
+
+    /**
+     * @param pieceIdMask The bits a piece id may use, e.g. 0xFFFF to keep ids within 16 bits.
+     */
+    public MergeIndex(int pieceIdMask) {
+        this.pieceIdMask = pieceIdMask;
+    }
+
+    // endregion Constructors
+
+    // region Accessors
+
+    /**
+     * @return The number of pieces.
+     */
+    public int size() {
+        return pieces.size();
+    }
+
+    /**
+     * @param index The index of the piece.
+     * @return The piece.
+     */
+    public P get(int index) {
+        return pieces.get(index);
+    }
+
+    /**
+     * @return The count of positions of all pieces.
+     */
+    public int getCount() {
+        return pieceCounts.getTotal();
+    }
+
+    /**
+     * @param position A position within the merged list.
+     * @return The index of the piece containing the position, or -1 if it is out of range.
+     */
+    public int indexOf(int position) {
+        return pieceCounts.indexOf(position);
+    }
+
+    /**
+     * @param index The index of the piece, or {@link #size()} for the end of the list.
+     * @return The merged position the piece starts at.
+     */
+    public int getStartPosition(int index) {
+        return pieceCounts.getPrefixSum(index);
+    }
+
+    /**
+     * @param index The index of the piece.
+     * @return The id of the piece, which it keeps for as long as it is part of the list.
+     */
+    public int getPieceId(int index) {
+        checkIndex(index);
+        return pieceIds[index];
+    }
+
+    /**
+     * @param index    The index of the piece.
+     * @param viewType A view type of the piece.
+     * @return The merged view type.
+     */
+    public int getViewType(int index, int viewType) {
+        checkIndex(index);
+        return pieceViewTypes[index][viewType];
+    }
+
+    /**
+     * @return The number of merged view types handed out so far, including released ones that no current piece has.
+     * This only grows past the most view types the pieces had at once.
+     */
+    public int getViewTypeCount() {
+        return viewTypeCount;
+    }
+
+    /**
+     * @param viewType A merged view type.
+     * @return The index of a piece with the view type, the first one after {@link #setPieces(List)}, or -1 if no
+     * current piece has it.
+     */
+    public int getViewTypePiece(int viewType) {
+        return viewType >= 0 && viewType < viewTypeCount ? viewTypePieces[viewType] : -1;
+    }
+
+    /**
+     * @param viewType A merged view type that a current piece has, see {@link #getViewTypePiece(int)}.
+     * @return The view type of that piece.
+     */
+    public int getPieceViewType(int viewType) {
+        if (getViewTypePiece(viewType) < 0) {
+            throw new IllegalArgumentException("No piece has view type " + viewType);
+        }
+        return viewTypeLocals[viewType];
+    }
+
+    // endregion Accessors
+
+    // region Instance Methods
+
+    /**
+     * Replaces the pieces. Pieces that were already part of the list, by identity, keep their id and view types, and
+     * the view types of those that are gone are released.
+     *
+     * @param newPieces The pieces, in order.
+     */
+    public void setPieces(List<? extends P> newPieces) {
+        Map<P, Deque<Integer>> existingIndexes = new IdentityHashMap<>();
+        for (int i = 0; i < pieces.size(); i++) {
+            Deque<Integer> indexes = existingIndexes.get(pieces.get(i));
+            if (indexes == null) {
+                indexes = new ArrayDeque<>();
+                existingIndexes.put(pieces.get(i), indexes);
+            }
+            indexes.add(i);
+        }
+
+        int size = newPieces.size();
+        int[][] newViewTypes = new int[size][];
+        int[] newIds = new int[size];
+        int[] counts = new int[size];
+        for (int i = 0; i < size; i++) {
+            P piece = newPieces.get(i);
+            Deque<Integer> indexes = existingIndexes.get(piece);
+            Integer existingIndex = indexes != null ? indexes.poll() : null;
+            if (existingIndex != null) {
+                newViewTypes[i] = pieceViewTypes[existingIndex];
+                newIds[i] = pieceIds[existingIndex];
+            } else {
+                newIds[i] = nextPieceId;
+                nextPieceId = (nextPieceId + 1) & pieceIdMask;
+            }
+            counts[i] = piece.getCount();
+        }
+
+        for (Deque<Integer> indexes : existingIndexes.values()) {
+            for (int index : indexes) {
+                releaseViewTypes(pieceViewTypes[index]);
+            }
+        }
+
+        pieces.clear();
+        pieces.addAll(newPieces);
+        pieceViewTypes = newViewTypes;
+        pieceIds = newIds;
+        pieceCounts.reset(counts, size);
+        recalculateViewTypes();
+    }
+
+    /**
+     * Inserts pieces that are not part of the list yet. Only the new pieces are given ids and view types, the pieces
+     * after them are shifted.
+     *
+     * @param index     The index to insert the first piece at.
+     * @param newPieces The pieces to insert, in order.
+     */
+    public void insertPieces(int index, List<? extends P> newPieces) {
+        int size = pieces.size();
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int count = newPieces.size();
+        if (count == 0) {
+            return;
+        }
+
+        ensureCapacity(size + count);
+        System.arraycopy(pieceViewTypes, index, pieceViewTypes, index + count, size - index);
+        System.arraycopy(pieceIds, index, pieceIds, index + count, size - index);
+        pieces.addAll(index, newPieces);
+
+        int[] counts = new int[count];
+        for (int i = 0; i < count; i++) {
+            P piece = newPieces.get(i);
+            pieceIds[index + i] = nextPieceId;
+            nextPieceId = (nextPieceId + 1) & pieceIdMask;
+            pieceViewTypes[index + i] = assignViewTypes(piece);
+            counts[i] = piece.getCount();
+        }
+        pieceCounts.insert(index, counts, count);
+
+        for (int viewType = 0; viewType < viewTypeCount; viewType++) {
+            if (viewTypePieces[viewType] >= index) {
+                viewTypePieces[viewType] += count;
+            }
+        }
+        for (int i = index; i < index + count; i++) {
+            putViewTypePieces(i);
+        }
+    }
+
+    /**
+     * Removes consecutive pieces and releases their view types. The pieces after them are shifted and keep their ids
+     * and view types.
+     *
+     * @param index The index of the first piece to remove.
+     * @param count The number of pieces to remove.
+     */
+    public void removePieces(int index, int count) {
+        int size = pieces.size();
+        if (index < 0 || count < 0 || index + count > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Count: " + count + ", Size: " + size);
+        }
+        if (count == 0) {
+            return;
+        }
+
+        for (int i = index; i < index + count; i++) {
+            releaseViewTypes(pieceViewTypes[i]);
+        }
+        System.arraycopy(pieceViewTypes, index + count, pieceViewTypes, index, size - index - count);
+        System.arraycopy(pieceIds, index + count, pieceIds, index, size - index - count);
+        Arrays.fill(pieceViewTypes, size - count, size, null);
+        pieces.subList(index, index + count).clear();
+        pieceCounts.remove(index, count);
+
+        // A view type shared by a removed piece and one that stays has to be found on the one that stays.
+        boolean orphaned = false;
+        for (int viewType = 0; viewType < viewTypeCount; viewType++) {
+            int viewTypePiece = viewTypePieces[viewType];
+            if (viewTypePiece >= index + count) {
+                viewTypePieces[viewType] = viewTypePiece - count;
+            } else if (viewTypePiece >= index) {
+                viewTypePieces[viewType] = -1;
+                orphaned |= viewTypeReferences[viewType] > 0;
+            }
+        }
+        if (orphaned) {
+            for (int i = 0; i < pieces.size(); i++) {
+                putViewTypePieces(i);
+            }
+        }
+    }
+
+    /**
+     * Moves consecutive pieces to another index. The pieces keep their ids and view types.
+     *
+     * @param fromIndex The index of the first piece to move.
+     * @param count     The number of pieces to move.
+     * @param toIndex   The index the first piece ends up at, within the list as it is after the move.
+     */
+    public void movePieces(int fromIndex, int count, int toIndex) {
+        int size = pieces.size();
+        if (fromIndex < 0 || count < 0 || fromIndex + count > size || toIndex < 0 || toIndex + count > size) {
+            throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Count: " + count
+                                                + ", Size: " + size);
+        }
+        if (count == 0 || fromIndex == toIndex) {
+            return;
+        }
+
+        int[] counts = new int[count];
+        for (int i = 0; i < count; i++) {
+            counts[i] = pieceCounts.get(fromIndex + i);
+        }
+        pieceCounts.remove(fromIndex, count);
+        pieceCounts.insert(toIndex, counts, count);
+
+        List<P> movedPieces = new ArrayList<>(pieces.subList(fromIndex, fromIndex + count));
+        pieces.subList(fromIndex, fromIndex + count).clear();
+        pieces.addAll(toIndex, movedPieces);
+        moveRange(pieceViewTypes, Arrays.copyOfRange(pieceViewTypes, fromIndex, fromIndex + count),
+                  fromIndex, toIndex, count, size);
+        moveRange(pieceIds, Arrays.copyOfRange(pieceIds, fromIndex, fromIndex + count),
+                  fromIndex, toIndex, count, size);
+
+        for (int viewType = 0; viewType < viewTypeCount; viewType++) {
+            int viewTypePiece = viewTypePieces[viewType];
+            if (viewTypePiece >= fromIndex && viewTypePiece < fromIndex + count) {
+                viewTypePieces[viewType] = viewTypePiece - fromIndex + toIndex;
+            } else if (viewTypePiece >= 0) {
+                int remaining = viewTypePiece < fromIndex ? viewTypePiece : viewTypePiece - count;
+                viewTypePieces[viewType] = remaining < toIndex ? remaining : remaining + count;
+            }
+        }
+    }
+
+    /**
+     * Brings the count and view types of a single piece up to date after it changed. Only a change in its count of
+     * view types touches the view type table, in which case the piece releases its view types and is given new ones.
+     *
+     * @param index The index of the piece.
+     * @return true if the view types of the piece were reassigned, so merged view types resolved for its positions
+     * before are stale.
+     */
+    public boolean refresh(int index) {
+        P piece = pieces.get(index);
+        int count = piece.getCount();
+        if (count != pieceCounts.get(index)) {
+            pieceCounts.set(index, count);
+        }
+        if (pieceViewTypes[index].length != piece.getViewTypeCount()) {
+            releaseViewTypes(pieceViewTypes[index]);
+            pieceViewTypes[index] = null;
+            recalculateViewTypes();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Assigns view types to pieces that have none, and rebuilds the table of which piece has each merged view type.
+     */
+    private void recalculateViewTypes() {
+        for (int i = 0; i < pieces.size(); i++) {
+            if (pieceViewTypes[i] == null) {
+                pieceViewTypes[i] = assignViewTypes(pieces.get(i));
+            }
+        }
+
+        Arrays.fill(viewTypePieces, 0, viewTypeCount, -1);
+        for (int i = 0; i < pieces.size(); i++) {
+            putViewTypePieces(i);
+        }
+    }
+
+    /**
+     * Points each view type of the piece that no piece is found for yet at the piece.
+     */
+    private void putViewTypePieces(int index) {
+        int[] viewTypes = pieceViewTypes[index];
+        for (int localType = 0; localType < viewTypes.length; localType++) {
+            int viewType = viewTypes[localType];
+            if (viewTypePieces[viewType] < 0) {
+                viewTypePieces[viewType] = index;
+                viewTypeLocals[viewType] = localType;
+            }
+        }
+    }
+
+    /**
+     * @return The merged view type of every view type of the piece, reusing those of its keys.
+     */
+    private int[] assignViewTypes(P piece) {
+        int[] viewTypes = new int[piece.getViewTypeCount()];
+        for (int localType = 0; localType < viewTypes.length; localType++) {
+            Object key = piece.getViewTypeKey(localType);
+            Integer viewType = key != null ? keyedViewTypes.get(key) : null;
+            if (viewType == null) {
+                viewType = newViewType();
+                viewTypeKeys[viewType] = key;
+                if (key != null) {
+                    keyedViewTypes.put(key, viewType);
+                }
+            }
+            viewTypeReferences[viewType]++;
+            viewTypes[localType] = viewType;
+        }
+        return viewTypes;
+    }
+
+    /**
+     * Drops the references of a piece's view types, releasing those no other piece has. They are released last to
+     * first, so a piece that is given view types again right after gets them back in the same order.
+     *
+     * @param viewTypes The merged view types of the piece, or null if it had none assigned.
+     */
+    private void releaseViewTypes(int[] viewTypes) {
+        if (viewTypes == null) {
+            return;
+        }
+        for (int localType = viewTypes.length - 1; localType >= 0; localType--) {
+            int viewType = viewTypes[localType];
+            if (--viewTypeReferences[viewType] == 0) {
+                Object key = viewTypeKeys[viewType];
+                if (key != null) {
+                    keyedViewTypes.remove(key);
+                    viewTypeKeys[viewType] = null;
+                }
+                if (freeViewTypeCount == freeViewTypes.length) {
+                    freeViewTypes = Arrays.copyOf(freeViewTypes, Math.max(8, freeViewTypeCount * 2));
+                }
+                freeViewTypes[freeViewTypeCount++] = viewType;
+            }
+        }
+    }
+
+    /**
+     * @return A released merged view type, or a new one if none is free. No piece is found for it yet.
+     */
+    private int newViewType() {
+        int viewType;
+        if (freeViewTypeCount > 0) {
+            viewType = freeViewTypes[--freeViewTypeCount];
+        } else {
+            if (viewTypePieces.length == viewTypeCount) {
+                int length = Math.max(8, viewTypeCount * 2);
+                viewTypePieces = Arrays.copyOf(viewTypePieces, length);
+                viewTypeLocals = Arrays.copyOf(viewTypeLocals, length);
+                viewTypeReferences = Arrays.copyOf(viewTypeReferences, length);
+                viewTypeKeys = Arrays.copyOf(viewTypeKeys, length);
+            }
+            viewType = viewTypeCount++;
+        }
+        viewTypePieces[viewType] = -1;
+        return viewType;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (pieceIds.length < capacity) {
+            int length = Math.max(capacity, pieceIds.length * 2);
+            pieceViewTypes = Arrays.copyOf(pieceViewTypes, length);
+            pieceIds = Arrays.copyOf(pieceIds, length);
+        }
+    }
+
+    /**
+     * Moves a range of an array to another index, shifting the entries in between.
+     *
+     * @param array     The array.
+     * @param block     A copy of the range being moved.
+     * @param fromIndex The index the range starts at.
+     * @param toIndex   The index the range starts at once moved, within the array as it is after the move.
+     * @param count     The length of the range.
+     * @param size      The number of entries of the array in use.
+     */
+    private static void moveRange(Object array, Object block, int fromIndex, int toIndex, int count, int size) {
+        System.arraycopy(array, fromIndex + count, array, fromIndex, size - fromIndex - count);
+        System.arraycopy(array, toIndex, array, toIndex + count, size - count - toIndex);
+        System.arraycopy(block, 0, array, toIndex, count);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pieces.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + pieces.size());
+        }
+    }
+
+    // endregion Instance Methods
+}
@@ -0,0 +1,154 @@
+package com.raizlabs.universaladapter.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes the shortest edit script between two lists using Myers' O((N+M)D) algorithm and reports it as a
+ * {@link ChangeLog} of ranged inserts, removes and changes. Items that moved are reported as a removal and an
+ * insertion.
+ */
+public final class MyersDiff {
+
+    // region Constants
+
+    /**
+     * The most ints of search state kept for backtracking. The state grows with the square of the number of edits,
+     * so lists that share almost nothing fall back to a generic change rather than using a lot of memory.
+     */
+    private static final int MAX_TRACE_SIZE = 1 << 20;
+
+    // endregion Constants
+
+    // region Constructors
+
+    private MyersDiff() {
+    }
+
+    // endregion Constructors
+
+    // region Instance Methods
+
+    /**
+     * Computes the changes that turn the old list into the new one. Replaying the returned {@link ChangeLog} in
+     * order against the old list yields the positions of the new list.
+     *
+     * @param oldList  The list currently displayed.
+     * @param newList  The list to display.
+     * @param callback Decides which items are the same and which changed.
+     * @return The changes, or a generic {@link ChangeLog} if the lists differ too much to diff cheaply.
+     */
+    public static <Item> ChangeLog diff(List<? extends Item> oldList, List<? extends Item> newList,
+                                       ItemDiffCallback<? super Item> callback) {
+        return diff(oldList, newList, callback, CancellationToken.NONE);
+    }
+
+    /**
+     * Computes the changes that turn the old list into the new one, stopping early if the token is cancelled.
+     *
+     * @param oldList      The list currently displayed.
+     * @param newList      The list to display.
+     * @param callback     Decides which items are the same and which changed.
+     * @param cancellation Checked once per edit while searching and backtracking.
+     * @return The changes, a generic {@link ChangeLog} if the lists differ too much to diff cheaply, or null if the
+     * diff was cancelled.
+     */
+    public static <Item> ChangeLog diff(List<? extends Item> oldList, List<? extends Item> newList,
+                                       ItemDiffCallback<? super Item> callback, CancellationToken cancellation) {
+        ChangeLog changeLog = new ChangeLog();
+        changeLog.setThreshold(Integer.MAX_VALUE);
+
+        int oldSize = oldList.size();
+        int newSize = newList.size();
+        int max = oldSize + newSize;
+        int offset = max + 1;
+        int[] v = new int[2 * max + 3];
+        List<int[]> trace = new ArrayList<>();
+        int traceSize = 0;
+
+        int editCount = -1;
+        for (int d = 0; d <= max && editCount < 0; d++) {
+            if (cancellation.isCancelled()) {
+                return null;
+            }
+            // Keep the furthest points of the previous step, which is all the backtracking needs for this step.
+            int[] snapshot = new int[2 * d + 3];
+            System.arraycopy(v, offset - d - 1, snapshot, 0, snapshot.length);
+            trace.add(snapshot);
+            traceSize += snapshot.length;
+            if (traceSize > MAX_TRACE_SIZE) {
+                changeLog.onGenericChange();
+                return changeLog;
+            }
+
+            for (int k = -d; k <= d; k += 2) {
+                int x;
+                if (k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])) {
+                    x = v[offset + k + 1];
+                } else {
+                    x = v[offset + k - 1] + 1;
+                }
+                int y = x - k;
+                while (x < oldSize && y < newSize && callback.areItemsTheSame(oldList.get(x), newList.get(y))) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= oldSize && y >= newSize) {
+                    editCount = d;
+                    break;
+                }
+            }
+        }
+
+        // Walk back from the end so every reported position is still valid in the list being edited.
+        int x = oldSize;
+        int y = newSize;
+        for (int d = editCount; d > 0; d--) {
+            if (cancellation.isCancelled()) {
+                return null;
+            }
+            int[] snapshot = trace.get(d);
+            int k = x - y;
+            int previousK;
+            if (k == -d || (k != d && snapshot[k - 1 + d + 1] < snapshot[k + 1 + d + 1])) {
+                previousK = k + 1;
+            } else {
+                previousK = k - 1;
+            }
+            int previousX = snapshot[previousK + d + 1];
+            int previousY = previousX - previousK;
+            boolean inserted = previousK == k + 1;
+            int snakeX = inserted ? previousX : previousX + 1;
+
+            reportMatches(oldList, newList, callback, changeLog, snakeX, x, y);
+            if (inserted) {
+                changeLog.onItemRangeInserted(previousX, 1);
+            } else {
+                changeLog.onItemRangeRemoved(previousX, 1);
+            }
+            x = previousX;
+            y = previousY;
+        }
+        reportMatches(oldList, newList, callback, changeLog, 0, x, y);
+
+        return changeLog;
+    }
+
+    /**
+     * Reports the matched items of a diagonal ending at (endX, endY) whose contents changed, last first.
+     */
+    private static <Item> void reportMatches(List<? extends Item> oldList, List<? extends Item> newList,
+                                             ItemDiffCallback<? super Item> callback, ChangeLog changeLog,
+                                             int startX, int endX, int endY) {
+        int y = endY;
+        for (int x = endX - 1; x >= startX; x--) {
+            y--;
+            if (!callback.areContentsTheSame(oldList.get(x), newList.get(y))) {
+                changeLog.onItemRangeChanged(x, 1);
+            }
+        }
+    }
+
+    // endregion Instance Methods
+}
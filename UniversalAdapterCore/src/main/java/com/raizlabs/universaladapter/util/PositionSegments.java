@@ -0,0 +1,129 @@
+package com.raizlabs.universaladapter.util;
+
+/**
+ * Maps the positions of a list made of headers, then items, then footers to the segment they fall in and their
+ * position within it. Also lays out the view types of such a list: one per header, then the item view types, then
+ * one per footer. The counts are only read when {@link #set(int, int, int)} is called, so lookups are plain
+ * arithmetic.
+ */
+public final class PositionSegments {
+
+    // region Constants
+
+    public static final int SEGMENT_HEADER = 0;
+    public static final int SEGMENT_ITEM = 1;
+    public static final int SEGMENT_FOOTER = 2;
+
+    // endregion Constants
+
+    // region Members
+
+    private int headersCount;
+    private int itemsCount;
+    private int footersCount;
+
+    // endregion Members
+
+    // region Accessors
+
+    /**
+     * @param headersCount The number of headers.
+     * @param itemsCount   The number of items.
+     * @param footersCount The number of footers.
+     */
+    public void set(int headersCount, int itemsCount, int footersCount) {
+        this.headersCount = headersCount;
+        this.itemsCount = itemsCount;
+        this.footersCount = footersCount;
+    }
+
+    public int getHeadersCount() {
+        return headersCount;
+    }
+
+    public int getItemsCount() {
+        return itemsCount;
+    }
+
+    public int getFootersCount() {
+        return footersCount;
+    }
+
+    /**
+     * @return The number of positions, including headers and footers.
+     */
+    public int getCount() {
+        return headersCount + itemsCount + footersCount;
+    }
+
+    /**
+     * @return The position of the first footer, which is also the count of headers and items.
+     */
+    public int getFooterStart() {
+        return headersCount + itemsCount;
+    }
+
+    // endregion Accessors
+
+    // region Instance Methods
+
+    /**
+     * @param position The position in the whole list.
+     * @return {@link #SEGMENT_HEADER}, {@link #SEGMENT_ITEM} or {@link #SEGMENT_FOOTER}. Positions past the end are
+     * reported as footers.
+     */
+    public int getSegment(int position) {
+        if (position < headersCount) {
+            return SEGMENT_HEADER;
+        } else if (position >= headersCount + itemsCount) {
+            return SEGMENT_FOOTER;
+        }
+        return SEGMENT_ITEM;
+    }
+
+    public boolean isHeader(int position) {
+        return position < headersCount;
+    }
+
+    public boolean isFooter(int position) {
+        return position >= headersCount + itemsCount;
+    }
+
+    /**
+     * @param position The position in the whole list.
+     * @return The position among the items, which is negative for headers.
+     */
+    public int toItemPosition(int position) {
+        return position - headersCount;
+    }
+
+    /**
+     * @param position The position of a footer in the whole list.
+     * @return The index of the footer.
+     */
+    public int toFooterIndex(int position) {
+        return position - headersCount - itemsCount;
+    }
+
+    /**
+     * @param itemViewType The view type of an item.
+     * @return The view type of the item in the whole list.
+     */
+    public int toViewType(int itemViewType) {
+        return itemViewType + headersCount;
+    }
+
+    /**
+     * @param position          The position of a header or footer in the whole list.
+     * @param itemViewTypeCount The number of item view types.
+     * @return The view type of the header or footer, which is unique to it.
+     */
+    public int getFixedViewType(int position, int itemViewTypeCount) {
+        if (position < headersCount) {
+            return position;
+        }
+        return toFooterIndex(position) + headersCount + itemViewTypeCount;
+    }
+
+    // endregion Instance Methods
+}
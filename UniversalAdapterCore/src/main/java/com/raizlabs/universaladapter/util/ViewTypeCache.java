@@ -0,0 +1,141 @@
+package com.raizlabs.universaladapter.util;
+
+import java.util.Arrays;
+
+/**
+ * Primitive cache of the view type at each position of a list. Positions start out unknown and are filled in as
+ * they are resolved. Range changes shift or forget only the affected positions, so a single insert doesn't throw
+ * away the types of the rest of the list.
+ */
+public final class ViewTypeCache {
+
+    // region Constants
+
+    /**
+     * Returned from {@link #get(int)} when the type of a position has not been resolved.
+     */
+    public static final int UNKNOWN = Integer.MIN_VALUE;
+
+    // endregion Constants
+
+    // region Members
+
+    private int[] viewTypes = new int[16];
+
+    private int size;
+
+    // endregion Members
+
+    // region Accessors
+
+    /**
+     * @return The number of positions this cache covers.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param position The position in the list.
+     * @return The cached view type, or {@link #UNKNOWN} if it has not been resolved or is out of range.
+     */
+    public int get(int position) {
+        return position >= 0 && position < size ? viewTypes[position] : UNKNOWN;
+    }
+
+    /**
+     * Stores the resolved view type of a position. Positions out of range are ignored.
+     *
+     * @param position The position in the list.
+     * @param viewType The view type of the position.
+     */
+    public void put(int position, int viewType) {
+        if (position >= 0 && position < size) {
+            viewTypes[position] = viewType;
+        }
+    }
+
+    // endregion Accessors
+
+    // region Instance Methods
+
+    /**
+     * Forgets every position and resizes the cache.
+     *
+     * @param size The number of positions in the list.
+     */
+    public void reset(int size) {
+        ensureCapacity(size);
+        this.size = size;
+        Arrays.fill(viewTypes, 0, size, UNKNOWN);
+    }
+
+    /**
+     * Forgets every position.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Forgets the types of a range whose contents changed.
+     */
+    public void onItemRangeChanged(int start, int count) {
+        if (start < 0 || count < 0 || start + count > size) {
+            clear();
+        } else {
+            Arrays.fill(viewTypes, start, start + count, UNKNOWN);
+        }
+    }
+
+    /**
+     * Shifts positions after an insert and leaves the inserted range unknown.
+     */
+    public void onItemRangeInserted(int start, int count) {
+        if (start < 0 || count < 0 || start > size) {
+            clear();
+        } else {
+            ensureCapacity(size + count);
+            System.arraycopy(viewTypes, start, viewTypes, start + count, size - start);
+            Arrays.fill(viewTypes, start, start + count, UNKNOWN);
+            size += count;
+        }
+    }
+
+    /**
+     * Shifts positions after a removal.
+     */
+    public void onItemRangeRemoved(int start, int count) {
+        if (start < 0 || count < 0 || start + count > size) {
+            clear();
+        } else {
+            System.arraycopy(viewTypes, start + count, viewTypes, start, size - start - count);
+            size -= count;
+        }
+    }
+
+    /**
+     * Moves the type of a single position to another.
+     */
+    public void onItemMoved(int fromPosition, int toPosition) {
+        if (fromPosition < 0 || fromPosition >= size || toPosition < 0 || toPosition >= size) {
+            clear();
+        } else if (fromPosition < toPosition) {
+            int viewType = viewTypes[fromPosition];
+            System.arraycopy(viewTypes, fromPosition + 1, viewTypes, fromPosition, toPosition - fromPosition);
+            viewTypes[toPosition] = viewType;
+        } else if (fromPosition > toPosition) {
+            int viewType = viewTypes[fromPosition];
+            System.arraycopy(viewTypes, toPosition, viewTypes, toPosition + 1, fromPosition - toPosition);
+            viewTypes[toPosition] = viewType;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (viewTypes.length < capacity) {
+            viewTypes = Arrays.copyOf(viewTypes, Math.max(capacity, viewTypes.length * 2));
+        }
+    }
+
+    // endregion Instance Methods
+}
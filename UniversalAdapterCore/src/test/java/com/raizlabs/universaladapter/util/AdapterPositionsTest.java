@@ -0,0 +1,102 @@
+package com.raizlabs.universaladapter.util;
+
+import junit.framework.TestCase;
+
+/**
+ * Description: Tests that adapter positions stay current through reported changes without recomputing them.
+ */
+public class AdapterPositionsTest extends TestCase {
+
+    /**
+     * Two headers, one footer, and items whose view type is their value modulo 3.
+     */
+    private static class StubSource implements AdapterPositions.Source {
+
+        int[] items;
+        int viewTypeLookups;
+
+        StubSource(int... items) {
+            this.items = items;
+        }
+
+        @Override
+        public int getHeadersCount() {
+            return 2;
+        }
+
+        @Override
+        public int getCount() {
+            return items.length;
+        }
+
+        @Override
+        public int getFootersCount() {
+            return 1;
+        }
+
+        @Override
+        public int getItemViewTypeCount() {
+            return 3;
+        }
+
+        @Override
+        public int getItemViewType(int position) {
+            viewTypeLookups++;
+            return items[position] % 3;
+        }
+    }
+
+    public void testPositions() {
+        StubSource source = new StubSource(0, 1, 2);
+        AdapterPositions positions = new AdapterPositions(source);
+
+        assertEquals(6, positions.getCount());
+        assertEquals(0, positions.getViewType(0));
+        assertEquals(1, positions.getViewType(1));
+        assertEquals(2, positions.getViewType(2));
+        assertEquals(4, positions.getViewType(4));
+        assertEquals(5, positions.getViewType(5));
+
+        // Segments are only recomputed after a change that can move them.
+        source.items = new int[]{0, 1, 2, 3};
+        positions.onItemRangeChanged(0, 1, null);
+        assertEquals(6, positions.getCount());
+        positions.onItemRangeInserted(3, 1);
+        assertEquals(7, positions.getCount());
+        assertTrue(positions.getSegments().isFooter(6));
+
+        source.items = new int[]{1};
+        positions.onGenericChange();
+        assertEquals(4, positions.getCount());
+        assertEquals(3, positions.getViewType(2));
+    }
+
+    public void testViewTypeCache() {
+        StubSource source = new StubSource(0, 1, 2, 3);
+        AdapterPositions positions = new AdapterPositions(source);
+        positions.setViewTypeCacheEnabled(true);
+        assertTrue(positions.isViewTypeCacheEnabled());
+
+        for (int position = 2; position < 6; position++) {
+            positions.getViewType(position);
+            positions.getViewType(position);
+        }
+        assertEquals(4, source.viewTypeLookups);
+
+        source.items = new int[]{0, 1, 5, 2, 3};
+        positions.onItemRangeInserted(2, 1);
+        assertEquals(4, positions.getViewType(4));
+        assertEquals(2, positions.getViewType(6));
+        assertEquals(5, source.viewTypeLookups);
+
+        source.items = new int[]{1, 5, 2, 3, 0};
+        positions.onItemMoved(0, 4);
+        assertEquals(3, positions.getViewType(2));
+        assertEquals(5, source.viewTypeLookups);
+
+        positions.setViewTypeCacheEnabled(false);
+        assertFalse(positions.isViewTypeCacheEnabled());
+        positions.getViewType(2);
+        assertEquals(6, source.viewTypeLookups);
+    }
+}
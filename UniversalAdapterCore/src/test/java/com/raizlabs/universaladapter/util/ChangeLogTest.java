@@ -0,0 +1,86 @@
+package com.raizlabs.universaladapter.util;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Description: Tests that the change log coalesces changes and replays them in order.
+ */
+public class ChangeLogTest extends TestCase {
+
+    public void testCoalescing() {
+        ChangeLog changeLog = new ChangeLog();
+        changeLog.onItemRangeInserted(5, 1);
+        changeLog.onItemRangeInserted(6, 2);
+        // Changing and removing items that were just inserted only shrinks the insert.
+        changeLog.onItemRangeChanged(6, 1, "payload");
+        changeLog.onItemRangeRemoved(5, 1);
+        changeLog.onItemRangeChanged(0, 2, null);
+        changeLog.onItemRangeChanged(2, 1, null);
+        changeLog.onItemRangeRemoved(3, 2);
+        changeLog.onItemRangeRemoved(1, 2);
+        changeLog.onItemMoved(4, 4);
+
+        assertEquals(Arrays.asList("inserted 5 2", "changed 0 3", "removed 1 4"), replay(changeLog));
+    }
+
+    public void testMovesAndPayloads() {
+        ChangeLog changeLog = new ChangeLog();
+        changeLog.onItemMoved(0, 3);
+        changeLog.onItemRangeChanged(2, 1, "payload");
+        changeLog.offset(10);
+
+        assertEquals(ChangeLog.TYPE_MOVED, changeLog.getType(0));
+        assertEquals(13, changeLog.getToPosition(0));
+        assertEquals(Arrays.asList("moved 10 13", "changed 12 1 payload"), replay(changeLog));
+    }
+
+    public void testPayloadsStayWithTheirRows() {
+        ChangeLog changeLog = new ChangeLog();
+        changeLog.onItemRangeChanged(0, 5, "a");
+        // Adjacent rows with another payload keep their own entry.
+        changeLog.onItemRangeChanged(5, 5, "b");
+        // The same payload only widens the range.
+        changeLog.onItemRangeChanged(8, 4, "b");
+        // A change of the same rows carries both payloads.
+        changeLog.onItemRangeChanged(5, 7, "c");
+        changeLog.onItemRangeChanged(12, 1, null);
+
+        assertEquals(3, changeLog.size());
+        assertEquals("a", changeLog.getPayload(0));
+        assertEquals(5, changeLog.getStart(1));
+        assertEquals(7, changeLog.getCount(1));
+        assertEquals(Arrays.<Object>asList("b", "c"), ((ChangePayloads) changeLog.getPayload(1)).getPayloads());
+        assertEquals(12, changeLog.getStart(2));
+        assertNull(changeLog.getPayload(2));
+    }
+
+    public void testThreshold() {
+        ChangeLog changeLog = new ChangeLog();
+        changeLog.setThreshold(2);
+        changeLog.onItemRangeChanged(0, 1, null);
+        changeLog.onItemRangeChanged(2, 1, null);
+        assertFalse(changeLog.isGeneric());
+        changeLog.onItemRangeChanged(4, 1, null);
+        assertTrue(changeLog.isGeneric());
+        assertEquals(0, changeLog.size());
+        assertEquals(Collections.singletonList("generic"), replay(changeLog));
+
+        changeLog.clear();
+        assertTrue(changeLog.isEmpty());
+        assertTrue(replay(changeLog).isEmpty());
+        changeLog.onItemRangeChanged(0, 1, null);
+        changeLog.onItemRangeChanged(2, 1, null);
+        changeLog.setThreshold(1);
+        assertTrue(changeLog.isGeneric());
+    }
+
+    private static List<String> replay(ChangeLog changeLog) {
+        RecordingChangeListener listener = new RecordingChangeListener();
+        changeLog.replay(listener);
+        return listener.events;
+    }
+}
@@ -0,0 +1,182 @@
+package com.raizlabs.universaladapter.util;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Description: Tests that the diff strategies describe the new list with few ranged changes on a plain JVM. Their
+ * timings are compared by the DiffBenchmark in the benchmarks module.
+ */
+public class DiffStrategyTest extends TestCase {
+
+    /**
+     * Items are "id:content" strings.
+     */
+    static final KeyedItemDiffCallback<Object> CALLBACK = new KeyedItemDiffCallback<Object>() {
+        @Override
+        public long getItemKey(Object item) {
+            return id(item).hashCode();
+        }
+
+        @Override
+        public boolean areItemsTheSame(Object oldItem, Object newItem) {
+            return id(oldItem).equals(id(newItem));
+        }
+
+        @Override
+        public boolean areContentsTheSame(Object oldItem, Object newItem) {
+            return oldItem.equals(newItem);
+        }
+
+        private String id(Object item) {
+            String string = (String) item;
+            return string.substring(0, string.indexOf(':'));
+        }
+    };
+
+    static List<String> describe(ChangeLog changeLog) {
+        List<String> events = new ArrayList<>();
+        for (int i = 0; i < changeLog.size(); i++) {
+            switch (changeLog.getType(i)) {
+                case ChangeLog.TYPE_CHANGED:
+                    events.add("changed " + changeLog.getStart(i) + " " + changeLog.getCount(i));
+                    break;
+                case ChangeLog.TYPE_INSERTED:
+                    events.add("inserted " + changeLog.getStart(i) + " " + changeLog.getCount(i));
+                    break;
+                case ChangeLog.TYPE_REMOVED:
+                    events.add("removed " + changeLog.getStart(i) + " " + changeLog.getCount(i));
+                    break;
+                case ChangeLog.TYPE_MOVED:
+                    events.add("moved " + changeLog.getStart(i) + " " + changeLog.getToPosition(i));
+                    break;
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Replays the changes on a copy of the old list, leaving null where items were inserted.
+     */
+    static List<Object> apply(List<Object> oldList, ChangeLog changeLog) {
+        List<Object> list = new ArrayList<>(oldList);
+        for (int i = 0; i < changeLog.size(); i++) {
+            int start = changeLog.getStart(i);
+            switch (changeLog.getType(i)) {
+                case ChangeLog.TYPE_INSERTED:
+                    for (int j = 0; j < changeLog.getCount(i); j++) {
+                        list.add(start, null);
+                    }
+                    break;
+                case ChangeLog.TYPE_REMOVED:
+                    list.subList(start, start + changeLog.getCount(i)).clear();
+                    break;
+                case ChangeLog.TYPE_MOVED:
+                    list.add(changeLog.getToPosition(i), list.remove(start));
+                    break;
+            }
+        }
+        return list;
+    }
+
+    public void testMyersDiff() {
+        List<Object> oldList = Arrays.<Object>asList("a:1", "b:1", "c:1", "d:1", "e:1");
+        List<Object> newList = Arrays.<Object>asList("a:1", "x:1", "y:1", "b:2", "d:1", "e:1", "f:1");
+
+        ChangeLog changeLog = MyersDiff.diff(oldList, newList, CALLBACK);
+        assertFalse(changeLog.isGeneric());
+        assertEquals(Arrays.asList("inserted 5 1", "removed 2 1", "changed 1 1", "inserted 1 2"),
+                     describe(changeLog));
+
+        assertTrue(MyersDiff.diff(oldList, oldList, CALLBACK).isEmpty());
+    }
+
+    public void testHeckelDiff() {
+        List<Object> oldList = Arrays.<Object>asList("a:1", "b:1", "c:1", "d:1", "e:1");
+        List<Object> newList = Arrays.<Object>asList("x:1", "d:1", "a:1", "b:2", "e:1", "c:1");
+
+        ChangeLog changeLog = HeckelDiff.diff(oldList, newList, CALLBACK, CancellationToken.NONE);
+        assertEquals(Arrays.asList("moved 3 0", "moved 3 4", "inserted 0 1", "changed 3 1"), describe(changeLog));
+        assertEquals(Arrays.<Object>asList(null, "d:1", "a:1", "b:1", "e:1", "c:1"), apply(oldList, changeLog));
+    }
+
+    public void testEdgeFastPath() {
+        final int[] comparisons = new int[1];
+        ItemDiffCallback<Object> countingCallback = new ItemDiffCallback<Object>() {
+            @Override
+            public boolean areItemsTheSame(Object oldItem, Object newItem) {
+                comparisons[0]++;
+                return CALLBACK.areItemsTheSame(oldItem, newItem);
+            }
+
+            @Override
+            public boolean areContentsTheSame(Object oldItem, Object newItem) {
+                comparisons[0]++;
+                return CALLBACK.areContentsTheSame(oldItem, newItem);
+            }
+        };
+        List<Object> feed = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            feed.add(i + ":1");
+        }
+
+        for (DiffStrategy strategy : DiffStrategy.values()) {
+            List<Object> prepended = new ArrayList<>(feed);
+            prepended.addAll(0, Arrays.<Object>asList("new1:1", "new2:1"));
+            comparisons[0] = 0;
+            assertEquals(Arrays.asList("inserted 0 2"),
+                         describe(strategy.diff(feed, prepended, countingCallback, CancellationToken.NONE)));
+            // Only the new head item is compared before the shared tail is found by identity.
+            assertEquals(1, comparisons[0]);
+
+            List<Object> trimmed = new ArrayList<>(feed.subList(0, 97));
+            comparisons[0] = 0;
+            assertEquals(Arrays.asList("removed 97 3"),
+                         describe(strategy.diff(feed, trimmed, countingCallback, CancellationToken.NONE)));
+            assertEquals(0, comparisons[0]);
+        }
+    }
+
+    public void testStrategiesDescribeNewList() {
+        int listSize = 5000;
+        Random random = new Random(42);
+        List<Object> oldList = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            oldList.add(i + ":1");
+        }
+        List<Object> newList = new ArrayList<>(oldList);
+        for (int i = 0; i < 100; i++) {
+            newList.remove(random.nextInt(newList.size()));
+            newList.add(random.nextInt(newList.size()), (listSize + i) + ":1");
+            newList.add(random.nextInt(newList.size()), newList.remove(random.nextInt(newList.size())));
+            int changed = random.nextInt(newList.size());
+            newList.set(changed, newList.get(changed) + "2");
+        }
+
+        List<Object> expected = new ArrayList<>(newList.size());
+        for (Object item : newList) {
+            expected.add(Integer.parseInt(((String) item).split(":")[0]) < listSize ? item : null);
+        }
+
+        for (DiffStrategy strategy : DiffStrategy.values()) {
+            ChangeLog changeLog = strategy.diff(oldList, newList, CALLBACK, CancellationToken.NONE);
+            assertFalse(changeLog.isGeneric());
+
+            List<Object> replayed = apply(oldList, changeLog);
+            assertEquals(expected.size(), replayed.size());
+            for (int i = 0; i < expected.size(); i++) {
+                // Myers reports moved items as inserted, so only kept items are compared.
+                if (replayed.get(i) != null) {
+                    assertNotNull(expected.get(i));
+                    assertEquals(CALLBACK.getItemKey(expected.get(i)), CALLBACK.getItemKey(replayed.get(i)));
+                } else if (strategy == DiffStrategy.HECKEL) {
+                    assertNull(expected.get(i));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.raizlabs.universaladapter.util;
+
+import junit.framework.TestCase;
+
+/**
+ * Description: Tests the offsets and position lookups of the count tree against a plain array.
+ */
+public class FenwickTreeTest extends TestCase {
+
+    public void testPrefixSumsAndLookups() {
+        FenwickTree tree = new FenwickTree(2);
+        int[] counts = {3, 0, 5, 1, 0, 4};
+        tree.reset(counts, counts.length);
+
+        assertEquals(6, tree.size());
+        assertEquals(13, tree.getTotal());
+        assertSections(tree, counts);
+
+        assertEquals(-1, tree.indexOf(-1));
+        assertEquals(-1, tree.indexOf(13));
+    }
+
+    public void testUpdates() {
+        FenwickTree tree = new FenwickTree();
+        tree.reset(new int[]{3, 0, 5, 1}, 4);
+
+        tree.add(1, 2);
+        tree.set(2, 1);
+        assertSections(tree, new int[]{3, 2, 1, 1});
+
+        tree.insert(0, 4);
+        tree.insert(5, 0);
+        assertSections(tree, new int[]{4, 3, 2, 1, 1, 0});
+
+        assertEquals(2, tree.remove(2));
+        assertSections(tree, new int[]{4, 3, 1, 1, 0});
+
+        tree.insert(1, new int[]{6, 0, 2}, 3);
+        assertSections(tree, new int[]{4, 6, 0, 2, 3, 1, 1, 0});
+        tree.remove(2, 3);
+        assertSections(tree, new int[]{4, 6, 1, 1, 0});
+
+        tree.clear();
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.getTotal());
+        assertEquals(-1, tree.indexOf(0));
+    }
+
+    public void testLargeTree() {
+        FenwickTree tree = new FenwickTree();
+        int[] counts = new int[1000];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = (i * 7) % 5;
+        }
+        tree.reset(counts, counts.length);
+        for (int i = 0; i < counts.length; i += 3) {
+            counts[i] += 2;
+            tree.add(i, 2);
+        }
+        assertSections(tree, counts);
+    }
+
+    public void testOutOfRange() {
+        FenwickTree tree = new FenwickTree();
+        tree.reset(new int[]{1, 2}, 2);
+        assertEquals(3, tree.getPrefixSum(2));
+        try {
+            tree.get(2);
+            fail("Expected an IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            tree.getPrefixSum(3);
+            fail("Expected an IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Checks every count, offset and position of the tree against the expected counts.
+     */
+    private static void assertSections(FenwickTree tree, int[] counts) {
+        assertEquals(counts.length, tree.size());
+        int start = 0;
+        for (int i = 0; i < counts.length; i++) {
+            assertEquals(counts[i], tree.get(i));
+            assertEquals(start, tree.getPrefixSum(i));
+            for (int position = start; position < start + counts[i]; position++) {
+                assertEquals(i, tree.indexOf(position));
+            }
+            start += counts[i];
+        }
+        assertEquals(start, tree.getTotal());
+    }
+}
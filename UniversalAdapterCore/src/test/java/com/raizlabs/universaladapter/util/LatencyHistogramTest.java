@@ -0,0 +1,60 @@
+package com.raizlabs.universaladapter.util;
+
+import junit.framework.TestCase;
+
+/**
+ * Description: Tests the bucket bounds and percentiles of the latency histogram.
+ */
+public class LatencyHistogramTest extends TestCase {
+
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int nanos = 0; nanos < 8; nanos++) {
+            histogram.record(nanos);
+        }
+        assertEquals(8, histogram.getCount());
+        assertEquals(28, histogram.getTotalNanos());
+        assertEquals(3, histogram.getMeanNanos());
+        assertEquals(0, histogram.getPercentileNanos(0));
+        assertEquals(3, histogram.getPercentileNanos(50));
+        assertEquals(7, histogram.getPercentileNanos(100));
+    }
+
+    public void testBucketsWithinAnEighth() {
+        for (long nanos = 8; nanos < (1L << 41); nanos = nanos * 3 / 2 + 1) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(nanos);
+            histogram.record(Long.MAX_VALUE);
+            assertWithinAnEighth(nanos, histogram.getPercentileNanos(50));
+        }
+    }
+
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(100000, histogram.getMaxNanos());
+        assertWithinAnEighth(50000, histogram.getPercentileNanos(50));
+        assertWithinAnEighth(90000, histogram.getPercentileNanos(90));
+        // The top bucket is capped at the largest recorded value.
+        assertEquals(100000, histogram.getPercentileNanos(100));
+    }
+
+    public void testNegativeAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getPercentileNanos(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxNanos());
+        assertEquals(0, histogram.getMeanNanos());
+        assertEquals(0, histogram.getPercentileNanos(99));
+    }
+
+    private static void assertWithinAnEighth(long expected, long actual) {
+        assertTrue(expected + " reported as " + actual, actual >= expected && actual - expected <= expected / 8);
+    }
+}
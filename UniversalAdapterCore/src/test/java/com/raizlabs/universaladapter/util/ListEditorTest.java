@@ -0,0 +1,97 @@
+package com.raizlabs.universaladapter.util;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Description: Tests that list edits are reported as ranged changes, directly or coalesced by a transaction.
+ */
+public class ListEditorTest extends TestCase {
+
+    public void testEdits() {
+        RecordingChangeListener listener = new RecordingChangeListener();
+        ListEditor<Object> editor = new ListEditor<>(new ArrayList<Object>(Arrays.asList("a", "b")), listener);
+
+        editor.add("c");
+        editor.add(0, "d");
+        editor.addAll(Arrays.asList("e", "f"));
+        editor.addAll(1, Collections.singletonList("g"));
+        editor.addAll(Collections.emptyList());
+        editor.set(0, "d");
+        editor.set(0, "h");
+        editor.set(1, "g", "payload");
+        editor.move(0, 2);
+        editor.remove("h");
+        editor.remove("missing");
+        editor.remove(0);
+        assertEquals(Arrays.<Object>asList("a", "b", "c", "e", "f"), editor.getList());
+
+        editor.removeAll(Arrays.asList("a", "b"));
+        editor.clear();
+        assertTrue(editor.getList().isEmpty());
+
+        assertEquals(Arrays.asList("inserted 2 1", "inserted 0 1", "inserted 4 2", "inserted 1 1",
+                                   "changed 0 1", "changed 1 1 payload", "moved 0 2", "removed 2 1", "removed 0 1",
+                                   "generic", "removed 0 3"),
+                     listener.events);
+    }
+
+    public void testTransaction() {
+        RecordingChangeListener listener = new RecordingChangeListener();
+        ChangeDispatcher dispatcher = new ChangeDispatcher(listener);
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        ListEditor<Object> editor = new ListEditor<>(list, dispatcher);
+
+        dispatcher.beginTransaction();
+        assertTrue(dispatcher.isRunningTransaction());
+        editor.add("a");
+        editor.add("b");
+        editor.remove(0);
+        editor.remove(0);
+        editor.set(3, "c");
+        editor.set(4, "d");
+        assertTrue(listener.events.isEmpty());
+        dispatcher.endTransaction();
+        assertFalse(dispatcher.isRunningTransaction());
+
+        assertEquals(Arrays.asList("inserted 10 2", "removed 0 2", "changed 3 2"), listener.events);
+
+        // Past the threshold the transaction is sent as a single generic change.
+        listener.events.clear();
+        dispatcher.setTransactionCoalescingThreshold(1);
+        dispatcher.beginTransaction();
+        editor.set(0, "e");
+        editor.set(5, "f");
+        dispatcher.endTransaction();
+        assertEquals(Collections.singletonList("generic"), listener.events);
+
+        // Outside of a transaction every change is sent as it happens.
+        listener.events.clear();
+        editor.move(0, 1);
+        assertEquals(Collections.singletonList("moved 0 1"), listener.events);
+    }
+
+    public void testUnbalancedTransactions() {
+        ChangeDispatcher dispatcher = new ChangeDispatcher(new RecordingChangeListener());
+        try {
+            dispatcher.endTransaction();
+            fail("Expected an IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        dispatcher.beginTransaction();
+        try {
+            dispatcher.beginTransaction();
+            fail("Expected an IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.raizlabs.universaladapter.util;
+
+import junit.framework.TestCase;
+
+/**
+ * Description: Tests the primitive hash map used to index items by key.
+ */
+public class LongIntHashMapTest extends TestCase {
+
+    public void testPutAndGet() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        assertTrue(map.put(1, 10));
+        assertTrue(map.put(-1, 20));
+        assertTrue(map.put(Long.MIN_VALUE, 30));
+        assertTrue(map.put(0, 40));
+        assertEquals(4, map.size());
+
+        assertEquals(10, map.get(1, -1));
+        assertEquals(20, map.get(-1, -1));
+        assertEquals(30, map.get(Long.MIN_VALUE, -1));
+        assertEquals(40, map.get(0, -1));
+        assertEquals(-1, map.get(2, -1));
+
+        assertFalse(map.put(1, 11));
+        assertEquals(11, map.get(1, -1));
+        assertEquals(4, map.size());
+    }
+
+    public void testGrowsPastExpectedSize() {
+        LongIntHashMap map = new LongIntHashMap(2);
+        for (int i = 0; i < 10000; i++) {
+            // Sequential and strided keys, like list positions and hashed ids.
+            map.put(i, i);
+            map.put((long) i << 32, -i);
+        }
+        assertEquals(19999, map.size());
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i, map.get(i, Integer.MIN_VALUE));
+            assertEquals(-i, map.get((long) i << 32, Integer.MIN_VALUE));
+        }
+    }
+
+    public void testClear() {
+        LongIntHashMap map = new LongIntHashMap(8);
+        map.put(5, 1);
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(-1, map.get(5, -1));
+        assertTrue(map.put(5, 2));
+        assertEquals(2, map.get(5, -1));
+    }
+}
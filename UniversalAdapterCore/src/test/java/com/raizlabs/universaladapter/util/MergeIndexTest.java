@@ -0,0 +1,203 @@
+package com.raizlabs.universaladapter.util;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Description: Tests piece resolution, view type assignment and piece ids of the merge index.
+ */
+public class MergeIndexTest extends TestCase {
+
+    private static class StubPiece implements MergeIndex.Piece {
+
+        int count;
+        Object[] viewTypeKeys;
+
+        StubPiece(int count, Object... viewTypeKeys) {
+            this.count = count;
+            this.viewTypeKeys = viewTypeKeys;
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public int getViewTypeCount() {
+            return viewTypeKeys.length;
+        }
+
+        @Override
+        public Object getViewTypeKey(int viewType) {
+            return viewTypeKeys[viewType];
+        }
+    }
+
+    public void testPositions() {
+        StubPiece first = new StubPiece(3, (Object) null);
+        StubPiece empty = new StubPiece(0, (Object) null);
+        StubPiece last = new StubPiece(2, (Object) null);
+        MergeIndex<StubPiece> index = new MergeIndex<>(0xFFFF);
+        index.setPieces(Arrays.asList(first, empty, last));
+
+        assertEquals(3, index.size());
+        assertSame(empty, index.get(1));
+        assertEquals(5, index.getCount());
+        assertEquals(0, index.indexOf(2));
+        assertEquals(2, index.indexOf(3));
+        assertEquals(-1, index.indexOf(5));
+        assertEquals(3, index.getStartPosition(2));
+        assertEquals(5, index.getStartPosition(3));
+
+        empty.count = 4;
+        assertFalse(index.refresh(1));
+        assertEquals(9, index.getCount());
+        assertEquals(1, index.indexOf(6));
+        assertEquals(2, index.indexOf(7));
+    }
+
+    public void testViewTypes() {
+        StubPiece first = new StubPiece(1, null, "shared");
+        StubPiece second = new StubPiece(1, "shared", null);
+        MergeIndex<StubPiece> index = new MergeIndex<>(0xFFFF);
+        index.setPieces(Arrays.asList(first, second));
+
+        assertEquals(3, index.getViewTypeCount());
+        assertEquals(0, index.getViewType(0, 0));
+        assertEquals(1, index.getViewType(0, 1));
+        assertEquals(1, index.getViewType(1, 0));
+        assertEquals(2, index.getViewType(1, 1));
+        // A shared view type is created by the first piece that has it.
+        assertEquals(0, index.getViewTypePiece(1));
+        assertEquals(1, index.getPieceViewType(1));
+        assertEquals(1, index.getViewTypePiece(2));
+
+        // Removing a piece never renumbers the view types of the others.
+        index.setPieces(Collections.singletonList(second));
+        assertEquals(1, index.getViewType(0, 0));
+        assertEquals(2, index.getViewType(0, 1));
+        assertEquals(-1, index.getViewTypePiece(0));
+        assertEquals(0, index.getViewTypePiece(1));
+        assertEquals(0, index.getPieceViewType(1));
+
+        // Released view types are handed out again, and keys keep theirs while a piece has them.
+        StubPiece third = new StubPiece(1, null, "shared");
+        index.setPieces(Arrays.asList(third, second));
+        assertEquals(0, index.getViewType(0, 0));
+        assertEquals(1, index.getViewType(0, 1));
+        assertEquals(3, index.getViewTypeCount());
+
+        // A piece gains view types, such as from a new header, and gets its released ones back first.
+        second.viewTypeKeys = new Object[]{null, "shared", null};
+        assertTrue(index.refresh(1));
+        assertEquals(4, index.getViewTypeCount());
+        assertEquals(2, index.getViewType(1, 0));
+        assertEquals(1, index.getViewType(1, 1));
+        assertEquals(3, index.getViewType(1, 2));
+        assertEquals(1, index.getViewTypePiece(2));
+        assertEquals(0, index.getViewTypePiece(1));
+        assertEquals(-1, index.getViewTypePiece(4));
+    }
+
+    public void testViewTypeCountStaysBounded() {
+        StubPiece fixed = new StubPiece(1, null, "shared");
+        MergeIndex<StubPiece> index = new MergeIndex<>(0xFFFF);
+        index.setPieces(Collections.singletonList(fixed));
+
+        // Replacing a piece over and over reuses the view types of the one it replaced.
+        for (int i = 0; i < 100; i++) {
+            index.setPieces(Arrays.asList(fixed, new StubPiece(1, null, "key" + i, "shared")));
+        }
+        assertEquals(4, index.getViewTypeCount());
+        assertEquals(0, index.getViewType(0, 0));
+        assertEquals(1, index.getViewType(0, 1));
+        assertEquals(1, index.getViewType(1, 2));
+
+        // So does a piece whose count of view types keeps changing.
+        StubPiece resized = index.get(1);
+        for (int i = 0; i < 100; i++) {
+            resized.viewTypeKeys = i % 2 == 0 ? new Object[]{null} : new Object[]{null, null, null};
+            index.refresh(1);
+        }
+        assertEquals(5, index.getViewTypeCount());
+
+        // A key no piece has any more releases its view type.
+        index.setPieces(Collections.<StubPiece>emptyList());
+        index.setPieces(Collections.singletonList(new StubPiece(1, "other", null, null, null, null)));
+        assertEquals(5, index.getViewTypeCount());
+    }
+
+    public void testStructuralEdits() {
+        StubPiece first = new StubPiece(2, (Object) null);
+        StubPiece second = new StubPiece(3, "shared");
+        StubPiece third = new StubPiece(1, "shared", null);
+        MergeIndex<StubPiece> index = new MergeIndex<>(0xFFFF);
+        index.setPieces(Arrays.asList(first, second));
+
+        index.insertPieces(1, Collections.singletonList(third));
+        assertSame(third, index.get(1));
+        assertEquals(6, index.getCount());
+        assertEquals(1, index.indexOf(2));
+        assertEquals(3, index.getStartPosition(2));
+        assertEquals(2, index.getPieceId(1));
+        assertEquals(1, index.getPieceId(2));
+        assertEquals(1, index.getViewType(1, 0));
+        assertEquals(2, index.getViewType(1, 1));
+        assertEquals(2, index.getViewTypePiece(1));
+
+        // Moved pieces keep their ids and view types.
+        index.movePieces(2, 1, 0);
+        assertSame(second, index.get(0));
+        assertSame(first, index.get(1));
+        assertEquals(3, index.getStartPosition(1));
+        assertEquals(2, index.indexOf(5));
+        assertEquals(1, index.getPieceId(0));
+        assertEquals(0, index.getPieceId(1));
+        assertEquals(1, index.getViewTypePiece(0));
+        assertEquals(0, index.getViewTypePiece(1));
+        assertEquals(2, index.getViewTypePiece(2));
+
+        // A view type shared with a removed piece is found on the piece that still has it.
+        index.removePieces(0, 1);
+        assertEquals(2, index.size());
+        assertEquals(3, index.getCount());
+        assertEquals(2, index.getPieceId(1));
+        assertEquals(1, index.getViewTypePiece(1));
+        assertEquals(0, index.getPieceViewType(1));
+        assertEquals(0, index.getViewTypePiece(0));
+        assertEquals(3, index.getViewTypeCount());
+
+        try {
+            index.removePieces(1, 2);
+            fail("Expected an IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            index.movePieces(0, 1, 2);
+            fail("Expected an IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    public void testPieceIds() {
+        StubPiece first = new StubPiece(1);
+        StubPiece second = new StubPiece(1);
+        MergeIndex<StubPiece> index = new MergeIndex<>(0x3);
+        index.setPieces(Arrays.asList(first, second, first));
+        assertEquals(0, index.getPieceId(0));
+        assertEquals(1, index.getPieceId(1));
+        assertEquals(2, index.getPieceId(2));
+
+        // Pieces keep their ids when moved, and ids of removed pieces aren't reused until they wrap around the mask.
+        index.setPieces(Arrays.asList(second, first, new StubPiece(1), new StubPiece(1)));
+        assertEquals(1, index.getPieceId(0));
+        assertEquals(0, index.getPieceId(1));
+        assertEquals(3, index.getPieceId(2));
+        assertEquals(0, index.getPieceId(3));
+    }
+}
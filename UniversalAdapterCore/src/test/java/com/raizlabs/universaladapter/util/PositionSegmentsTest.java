@@ -0,0 +1,50 @@
+package com.raizlabs.universaladapter.util;
+
+import junit.framework.TestCase;
+
+/**
+ * Description: Tests the header, item, and footer position math on a plain JVM.
+ */
+public class PositionSegmentsTest extends TestCase {
+
+    public void testPositions() {
+        PositionSegments segments = new PositionSegments();
+        segments.set(2, 3, 1);
+
+        assertEquals(6, segments.getCount());
+        assertEquals(5, segments.getFooterStart());
+
+        int[] expectedSegments = {
+                PositionSegments.SEGMENT_HEADER, PositionSegments.SEGMENT_HEADER,
+                PositionSegments.SEGMENT_ITEM, PositionSegments.SEGMENT_ITEM, PositionSegments.SEGMENT_ITEM,
+                PositionSegments.SEGMENT_FOOTER
+        };
+        for (int position = 0; position < expectedSegments.length; position++) {
+            assertEquals(expectedSegments[position], segments.getSegment(position));
+            assertEquals(expectedSegments[position] == PositionSegments.SEGMENT_HEADER, segments.isHeader(position));
+            assertEquals(expectedSegments[position] == PositionSegments.SEGMENT_FOOTER, segments.isFooter(position));
+        }
+
+        assertEquals(-1, segments.toItemPosition(1));
+        assertEquals(0, segments.toItemPosition(2));
+        assertEquals(2, segments.toItemPosition(4));
+        assertEquals(0, segments.toFooterIndex(5));
+    }
+
+    public void testViewTypes() {
+        PositionSegments segments = new PositionSegments();
+        segments.set(2, 3, 2);
+
+        // Headers come first, then the 4 item view types, then the footers.
+        assertEquals(0, segments.getFixedViewType(0, 4));
+        assertEquals(1, segments.getFixedViewType(1, 4));
+        assertEquals(2, segments.toViewType(0));
+        assertEquals(5, segments.toViewType(3));
+        assertEquals(6, segments.getFixedViewType(5, 4));
+        assertEquals(7, segments.getFixedViewType(6, 4));
+
+        segments.set(0, 0, 1);
+        assertEquals(PositionSegments.SEGMENT_FOOTER, segments.getSegment(0));
+        assertEquals(1, segments.getFixedViewType(0, 1));
+    }
+}
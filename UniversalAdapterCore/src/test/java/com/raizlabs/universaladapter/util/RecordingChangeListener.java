@@ -0,0 +1,37 @@
+package com.raizlabs.universaladapter.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Description: Records the changes it receives as strings such as "inserted 2 1", for comparing in tests.
+ */
+class RecordingChangeListener implements ListChangeListener {
+
+    final List<String> events = new ArrayList<>();
+
+    @Override
+    public void onItemRangeChanged(int start, int count, Object payload) {
+        events.add("changed " + start + " " + count + (payload != null ? " " + payload : ""));
+    }
+
+    @Override
+    public void onItemRangeInserted(int start, int count) {
+        events.add("inserted " + start + " " + count);
+    }
+
+    @Override
+    public void onItemRangeRemoved(int start, int count) {
+        events.add("removed " + start + " " + count);
+    }
+
+    @Override
+    public void onItemMoved(int fromPosition, int toPosition) {
+        events.add("moved " + fromPosition + " " + toPosition);
+    }
+
+    @Override
+    public void onGenericChange() {
+        events.add("generic");
+    }
+}
@@ -0,0 +1,71 @@
+package com.raizlabs.universaladapter.util;
+
+import junit.framework.TestCase;
+
+/**
+ * Description: Tests that ranged changes shift or forget only the affected positions of the view type cache.
+ */
+public class ViewTypeCacheTest extends TestCase {
+
+    public void testRangedChanges() {
+        ViewTypeCache cache = filledCache(5);
+
+        cache.onItemRangeInserted(1, 2);
+        assertViewTypes(cache, 0, ViewTypeCache.UNKNOWN, ViewTypeCache.UNKNOWN, 1, 2, 3, 4);
+
+        cache.onItemRangeRemoved(0, 3);
+        assertViewTypes(cache, 1, 2, 3, 4);
+
+        cache.onItemRangeChanged(1, 2);
+        assertViewTypes(cache, 1, ViewTypeCache.UNKNOWN, ViewTypeCache.UNKNOWN, 4);
+
+        cache.put(1, 7);
+        cache.onItemMoved(3, 0);
+        assertViewTypes(cache, 4, 1, 7, ViewTypeCache.UNKNOWN);
+        cache.onItemMoved(0, 2);
+        assertViewTypes(cache, 1, 7, 4, ViewTypeCache.UNKNOWN);
+    }
+
+    public void testGrowsOnInsert() {
+        ViewTypeCache cache = filledCache(16);
+        cache.onItemRangeInserted(16, 40);
+        assertEquals(56, cache.size());
+        assertEquals(15, cache.get(15));
+        assertEquals(ViewTypeCache.UNKNOWN, cache.get(55));
+    }
+
+    public void testOutOfRangeChangesClear() {
+        ViewTypeCache cache = filledCache(3);
+        assertEquals(ViewTypeCache.UNKNOWN, cache.get(3));
+        cache.put(3, 1);
+        assertEquals(3, cache.size());
+
+        cache.onItemRangeRemoved(2, 2);
+        assertEquals(0, cache.size());
+        assertEquals(ViewTypeCache.UNKNOWN, cache.get(0));
+
+        cache = filledCache(3);
+        cache.onItemMoved(0, 3);
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * @return A cache of the given size whose view type at each position is the position.
+     */
+    private static ViewTypeCache filledCache(int size) {
+        ViewTypeCache cache = new ViewTypeCache();
+        cache.reset(size);
+        for (int i = 0; i < size; i++) {
+            assertEquals(ViewTypeCache.UNKNOWN, cache.get(i));
+            cache.put(i, i);
+        }
+        return cache;
+    }
+
+    private static void assertViewTypes(ViewTypeCache cache, int... viewTypes) {
+        assertEquals(viewTypes.length, cache.size());
+        for (int i = 0; i < viewTypes.length; i++) {
+            assertEquals("position " + i, viewTypes[i], cache.get(i));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.raizlabs.universaladapter.benchmark;
+
+import com.raizlabs.universaladapter.util.CancellationToken;
+import com.raizlabs.universaladapter.util.ChangeLog;
+import com.raizlabs.universaladapter.util.DiffStrategy;
+import com.raizlabs.universaladapter.util.KeyedItemDiffCallback;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DiffStrategy#HECKEL} against {@link DiffStrategy#MYERS} on a large list with a few scattered removals,
+ * insertions, moves and content changes, as a feed refresh produces. Heckel matches by key in linear time while
+ * Myers grows with the number of edits.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiffBenchmark {
+
+    // region Constants
+
+    /**
+     * Items are "id:content" strings.
+     */
+    private static final KeyedItemDiffCallback<Object> CALLBACK = new KeyedItemDiffCallback<Object>() {
+        @Override
+        public long getItemKey(Object item) {
+            return id(item).hashCode();
+        }
+
+        @Override
+        public boolean areItemsTheSame(Object oldItem, Object newItem) {
+            return id(oldItem).equals(id(newItem));
+        }
+
+        @Override
+        public boolean areContentsTheSame(Object oldItem, Object newItem) {
+            return oldItem.equals(newItem);
+        }
+
+        private String id(Object item) {
+            String string = (String) item;
+            return string.substring(0, string.indexOf(':'));
+        }
+    };
+
+    // endregion Constants
+
+    // region Members
+
+    @Param({"HECKEL", "MYERS"})
+    String strategy;
+
+    @Param({"50000"})
+    int size;
+
+    @Param({"100"})
+    int editCount;
+
+    private DiffStrategy diffStrategy;
+    private List<Object> oldList;
+    private List<Object> newList;
+
+    // endregion Members
+
+    // region Instance Methods
+
+    @Setup
+    public void setUp() {
+        diffStrategy = DiffStrategy.valueOf(strategy);
+
+        Random random = new Random(42);
+        oldList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            oldList.add(i + ":1");
+        }
+        newList = new ArrayList<>(oldList);
+        for (int i = 0; i < editCount; i++) {
+            newList.remove(random.nextInt(newList.size()));
+            newList.add(random.nextInt(newList.size()), (size + i) + ":1");
+            newList.add(random.nextInt(newList.size()), newList.remove(random.nextInt(newList.size())));
+            int changed = random.nextInt(newList.size());
+            newList.set(changed, newList.get(changed) + "2");
+        }
+    }
+
+    @Benchmark
+    public ChangeLog diff() {
+        return diffStrategy.diff(oldList, newList, CALLBACK, CancellationToken.NONE);
+    }
+
+    // endregion Instance Methods
+}
@@ -0,0 +1,128 @@
+package com.raizlabs.universaladapter.benchmark;
+
+import com.raizlabs.universaladapter.util.ChangeDispatcher;
+import com.raizlabs.universaladapter.util.ListEditor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ListBasedAdapter} operations, each with its change notification, over the kinds of list an adapter is
+ * commonly given. Edits go through the adapter's {@link ListEditor} and {@link ChangeDispatcher} to a
+ * {@link StubListObserver}. Inserts are paired with removals so the list keeps its size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListOperationsBenchmark {
+
+    // region Constants
+
+    private static final int POSITIONS_MASK = 1023;
+
+    private static final Object FIRST_REPLACEMENT = "first replacement";
+    private static final Object SECOND_REPLACEMENT = "second replacement";
+
+    // endregion Constants
+
+    // region Members
+
+    @Param({"ArrayList", "LinkedList", "CopyOnWriteArrayList"})
+    String backingList;
+
+    @Param({"1000", "10000"})
+    int size;
+
+    private StubListObserver listObserver;
+    private ListEditor<Object> editor;
+    private final int[] positions = new int[POSITIONS_MASK + 1];
+    private int cursor;
+
+    // endregion Members
+
+    // region Instance Methods
+
+    @Setup
+    public void setUp() {
+        List<Object> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add("item " + i);
+        }
+        listObserver = new StubListObserver();
+        editor = new ListEditor<>(createList(items), new ChangeDispatcher(listObserver));
+
+        Random random = new Random(42);
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public Object get() {
+        return editor.getList().get(nextPosition());
+    }
+
+    @Benchmark
+    public Object insertAndRemoveAtHead() {
+        editor.add(0, "new");
+        return editor.remove(0);
+    }
+
+    @Benchmark
+    public Object appendAndRemoveAtTail() {
+        editor.add("new");
+        return editor.remove(editor.getList().size() - 1);
+    }
+
+    @Benchmark
+    public Object set() {
+        int position = nextPosition();
+        // Alternates between two distinct items so every set is a change.
+        Object current = editor.getList().get(position);
+        return editor.set(position, current == FIRST_REPLACEMENT ? SECOND_REPLACEMENT : FIRST_REPLACEMENT);
+    }
+
+    @Benchmark
+    public int move() {
+        int fromPosition = nextPosition();
+        int toPosition = positions[(cursor + POSITIONS_MASK / 2) & POSITIONS_MASK];
+        editor.move(fromPosition, toPosition);
+        return listObserver.getTotal();
+    }
+
+    private int nextPosition() {
+        return positions[cursor++ & POSITIONS_MASK];
+    }
+
+    private List<Object> createList(List<Object> items) {
+        switch (backingList) {
+            case "LinkedList":
+                return new LinkedList<>(items);
+            case "CopyOnWriteArrayList":
+                return new CopyOnWriteArrayList<>(items);
+            default:
+                return new ArrayList<>(items);
+        }
+    }
+
+    // endregion Instance Methods
+}
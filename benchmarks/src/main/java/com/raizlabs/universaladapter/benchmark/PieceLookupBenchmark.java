@@ -0,0 +1,117 @@
+package com.raizlabs.universaladapter.benchmark;
+
+import com.raizlabs.universaladapter.util.MergeIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code MergedUniversalAdapter.getPieceAt(int)} and {@code getItemViewType(int)} across merged adapters of 1 to 500
+ * pieces of random sizes, some of them empty, resolved by the adapter's {@link MergeIndex}. Positions are random, as
+ * after a jump or a data set change. The linear scan is the lookup the merge index replaced, kept as a baseline.
+ * The adapter itself needs Android, so {@link StubPiece}s stand in for its pieces and the benchmark makes the same
+ * {@link MergeIndex} calls its {@code getPieceAt(int)} and {@code getItemViewType(int)} make.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PieceLookupBenchmark {
+
+    // region Constants
+
+    private static final int MAX_PIECE_SIZE = 40;
+    private static final int ITEM_VIEW_TYPE_COUNT = 2;
+    private static final int POSITIONS_MASK = 1023;
+    private static final int PIECE_ID_MASK = 0xFFFF;
+
+    // endregion Constants
+
+    // region Members
+
+    @Param({"1", "10", "100", "500"})
+    int pieceCount;
+
+    private MergeIndex<StubPiece> mergeIndex;
+    private final int[] positions = new int[POSITIONS_MASK + 1];
+    private int cursor;
+
+    // endregion Members
+
+    // region Instance Methods
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<StubPiece> pieces = new ArrayList<>(pieceCount);
+        for (int i = 0; i < pieceCount; i++) {
+            int headersCount = random.nextInt(2);
+            int itemsCount = random.nextInt(MAX_PIECE_SIZE + 1);
+            // The first piece is never empty, so there is always a position to look up.
+            if (i == 0 && headersCount + itemsCount == 0) {
+                itemsCount = 1;
+            }
+            pieces.add(new StubPiece(new StubAdapter(headersCount, itemsCount, 0, ITEM_VIEW_TYPE_COUNT)));
+        }
+        mergeIndex = new MergeIndex<>(PIECE_ID_MASK);
+        mergeIndex.setPieces(pieces);
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = random.nextInt(mergeIndex.getCount());
+        }
+    }
+
+    @Benchmark
+    public StubPiece getPieceAt() {
+        int index = mergeIndex.indexOf(nextPosition());
+        StubPiece piece = mergeIndex.get(index);
+        piece.startPosition = mergeIndex.getStartPosition(index);
+        return piece;
+    }
+
+    @Benchmark
+    public int getItemViewType() {
+        int position = nextPosition();
+        int index = mergeIndex.indexOf(position);
+        StubPiece piece = mergeIndex.get(index);
+        piece.startPosition = mergeIndex.getStartPosition(index);
+        return mergeIndex.getViewType(index, piece.adapter.getInternalItemViewType(position - piece.startPosition));
+    }
+
+    @Benchmark
+    public StubPiece getPieceAtLinearScan() {
+        int position = nextPosition();
+        int start = 0;
+        for (int i = 0; i < mergeIndex.size(); i++) {
+            StubPiece piece = mergeIndex.get(i);
+            int count = piece.getCount();
+            if (position < start + count) {
+                piece.startPosition = start;
+                return piece;
+            }
+            start += count;
+        }
+        return null;
+    }
+
+    private int nextPosition() {
+        return positions[cursor++ & POSITIONS_MASK];
+    }
+
+    // endregion Instance Methods
+}
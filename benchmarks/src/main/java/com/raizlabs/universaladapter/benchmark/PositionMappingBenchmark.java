@@ -0,0 +1,88 @@
+package com.raizlabs.universaladapter.benchmark;
+
+import com.raizlabs.universaladapter.util.AdapterPositions;
+import com.raizlabs.universaladapter.util.PositionSegments;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The position math behind {@code UniversalAdapter.getInternalItemViewType(int)} and {@code bindViewHolder}, measured
+ * through the public API of {@link AdapterPositions} and its {@link PositionSegments}: resolving the view type of a
+ * position, with and without the view type cache, and resolving its segment and item position. Positions are visited
+ * in order, as when scrolling.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PositionMappingBenchmark {
+
+    // region Constants
+
+    private static final int HEADERS_COUNT = 2;
+    private static final int FOOTERS_COUNT = 2;
+    private static final int ITEM_VIEW_TYPE_COUNT = 3;
+
+    // endregion Constants
+
+    // region Members
+
+    @Param({"100", "10000"})
+    int itemCount;
+
+    @Param({"false", "true"})
+    boolean viewTypeCacheEnabled;
+
+    private AdapterPositions positions;
+
+    private int count;
+    private int cursor;
+
+    // endregion Members
+
+    // region Instance Methods
+
+    @Setup
+    public void setUp() {
+        positions = new StubAdapter(HEADERS_COUNT, itemCount, FOOTERS_COUNT, ITEM_VIEW_TYPE_COUNT).positions;
+        positions.setViewTypeCacheEnabled(viewTypeCacheEnabled);
+        count = positions.getCount();
+    }
+
+    @Benchmark
+    public int getViewType() {
+        return positions.getViewType(nextPosition());
+    }
+
+    @Benchmark
+    public int getSegment() {
+        return positions.getSegments().getSegment(nextPosition());
+    }
+
+    @Benchmark
+    public int toItemPosition() {
+        return positions.getSegments().toItemPosition(nextPosition());
+    }
+
+    private int nextPosition() {
+        int position = cursor;
+        cursor = position + 1 < count ? position + 1 : 0;
+        return position;
+    }
+
+    // endregion Instance Methods
+}
@@ -0,0 +1,106 @@
+package com.raizlabs.universaladapter.benchmark;
+
+import com.raizlabs.universaladapter.util.AdapterPositions;
+import com.raizlabs.universaladapter.util.MergeIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single items streaming into the middle piece of a merged adapter, as in a live feed. Each insert updates the
+ * child's {@link AdapterPositions} and view type cache and refreshes its piece in the {@link MergeIndex}, as
+ * {@code MergedUniversalAdapter.refreshPiece} does in the common case where the view type count doesn't change, and
+ * then resolves the view type of the new row for its bind. The piece is trimmed back to its initial size every
+ * {@link #MAX_STREAMED_ITEMS} inserts. The adapter itself needs Android, so a {@link StubPiece} stands in for the
+ * piece and the benchmark makes the same {@link MergeIndex} calls {@code refreshPiece} makes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamingInsertBenchmark {
+
+    // region Constants
+
+    private static final int INITIAL_PIECE_SIZE = 20;
+    private static final int MAX_STREAMED_ITEMS = 4096;
+    private static final int HEADERS_COUNT = 1;
+    private static final int ITEM_VIEW_TYPE_COUNT = 3;
+    private static final int PIECE_ID_MASK = 0xFFFF;
+
+    private static final Object STREAMED_ITEM = "streamed";
+
+    // endregion Constants
+
+    // region Members
+
+    @Param({"10", "100"})
+    int pieceCount;
+
+    /**
+     * Whether items stream in at the top of the piece, which shifts its cached view types, or at the bottom.
+     */
+    @Param({"true", "false"})
+    boolean insertAtTop;
+
+    private MergeIndex<StubPiece> mergeIndex;
+    private int targetIndex;
+    private StubAdapter target;
+
+    // endregion Members
+
+    // region Instance Methods
+
+    @Setup
+    public void setUp() {
+        List<StubPiece> pieces = new ArrayList<>(pieceCount);
+        for (int i = 0; i < pieceCount; i++) {
+            StubAdapter adapter = new StubAdapter(HEADERS_COUNT, INITIAL_PIECE_SIZE, 0, ITEM_VIEW_TYPE_COUNT);
+            adapter.positions.setViewTypeCacheEnabled(true);
+            pieces.add(new StubPiece(adapter));
+        }
+        mergeIndex = new MergeIndex<>(PIECE_ID_MASK);
+        mergeIndex.setPieces(pieces);
+        targetIndex = pieceCount / 2;
+        target = mergeIndex.get(targetIndex).adapter;
+    }
+
+    @Benchmark
+    public int insertItem() {
+        StubAdapter adapter = target;
+        int itemsCount = adapter.getCount();
+        if (itemsCount >= INITIAL_PIECE_SIZE + MAX_STREAMED_ITEMS) {
+            adapter.items.subList(INITIAL_PIECE_SIZE, itemsCount).clear();
+            adapter.positions.onItemRangeRemoved(INITIAL_PIECE_SIZE, itemsCount - INITIAL_PIECE_SIZE);
+            mergeIndex.refresh(targetIndex);
+            itemsCount = INITIAL_PIECE_SIZE;
+        }
+
+        int itemPosition = insertAtTop ? 0 : itemsCount;
+        adapter.items.add(itemPosition, STREAMED_ITEM);
+        adapter.positions.onItemRangeInserted(itemPosition, 1);
+        mergeIndex.refresh(targetIndex);
+        int startPosition = mergeIndex.getStartPosition(targetIndex);
+
+        // The RecyclerView then asks for the view type of the new row.
+        int viewType = adapter.getInternalItemViewType(HEADERS_COUNT + itemPosition);
+        return mergeIndex.getViewType(targetIndex, viewType) + startPosition;
+    }
+
+    // endregion Instance Methods
+}
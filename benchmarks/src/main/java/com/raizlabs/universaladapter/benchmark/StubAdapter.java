@@ -0,0 +1,94 @@
+package com.raizlabs.universaladapter.benchmark;
+
+import com.raizlabs.universaladapter.util.AdapterPositions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stands in for a {@code UniversalAdapter} of headers, items and footers. Its positions are resolved by the same
+ * {@link AdapterPositions} the adapter uses, so the benchmarks measure the shipped position math.
+ */
+public class StubAdapter implements AdapterPositions.Source {
+
+    // region Members
+
+    final List<Object> items;
+    final AdapterPositions positions;
+
+    private final int headersCount;
+    private final int footersCount;
+    private final int itemViewTypeCount;
+
+    // endregion Members
+
+    // region Constructors
+
+    public StubAdapter(int headersCount, int itemsCount, int footersCount, int itemViewTypeCount) {
+        this.headersCount = headersCount;
+        this.footersCount = footersCount;
+        this.itemViewTypeCount = itemViewTypeCount;
+        items = new ArrayList<>(itemsCount);
+        for (int i = 0; i < itemsCount; i++) {
+            items.add("item " + i);
+        }
+        positions = new AdapterPositions(this);
+    }
+
+    // endregion Constructors
+
+    // region Inherited Methods
+
+    @Override
+    public int getHeadersCount() {
+        return headersCount;
+    }
+
+    @Override
+    public int getCount() {
+        return items.size();
+    }
+
+    @Override
+    public int getFootersCount() {
+        return footersCount;
+    }
+
+    @Override
+    public int getItemViewTypeCount() {
+        return itemViewTypeCount;
+    }
+
+    /**
+     * Stands in for an adapter's {@code getItemViewType(int)}, which usually inspects the item.
+     */
+    @Override
+    public int getItemViewType(int position) {
+        return (items.get(position).hashCode() & Integer.MAX_VALUE) % itemViewTypeCount;
+    }
+
+    // endregion Inherited Methods
+
+    // region Instance Methods
+
+    /**
+     * @return The count of headers, items and footers, as {@code UniversalAdapter.getInternalCount()}.
+     */
+    int getInternalCount() {
+        return positions.getCount();
+    }
+
+    /**
+     * @return The view type of a position including headers and footers, as
+     * {@code UniversalAdapter.getInternalItemViewType(int)}.
+     */
+    int getInternalItemViewType(int position) {
+        return positions.getViewType(position);
+    }
+
+    int getInternalItemViewTypeCount() {
+        return headersCount + itemViewTypeCount + footersCount;
+    }
+
+    // endregion Instance Methods
+}
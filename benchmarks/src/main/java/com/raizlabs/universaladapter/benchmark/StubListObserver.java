@@ -0,0 +1,55 @@
+package com.raizlabs.universaladapter.benchmark;
+
+import com.raizlabs.universaladapter.util.ListChangeListener;
+
+/**
+ * Receives change notifications the way the adapters' list observer does, but only counts them.
+ */
+public class StubListObserver implements ListChangeListener {
+
+    // region Members
+
+    int changedCount;
+    int insertedCount;
+    int removedCount;
+    int movedCount;
+    int genericCount;
+
+    // endregion Members
+
+    // region Instance Methods
+
+    @Override
+    public void onItemRangeChanged(int start, int count, Object payload) {
+        changedCount += count;
+    }
+
+    @Override
+    public void onItemRangeInserted(int start, int count) {
+        insertedCount += count;
+    }
+
+    @Override
+    public void onItemRangeRemoved(int start, int count) {
+        removedCount += count;
+    }
+
+    @Override
+    public void onItemMoved(int fromPosition, int toPosition) {
+        movedCount++;
+    }
+
+    @Override
+    public void onGenericChange() {
+        genericCount++;
+    }
+
+    /**
+     * @return The total of all counts, for the benchmarks to return so the notifications aren't optimized away.
+     */
+    int getTotal() {
+        return changedCount + insertedCount + removedCount + movedCount + genericCount;
+    }
+
+    // endregion Instance Methods
+}
@@ -0,0 +1,48 @@
+package com.raizlabs.universaladapter.benchmark;
+
+import com.raizlabs.universaladapter.util.MergeIndex;
+
+/**
+ * Stands in for a piece of a {@code MergedUniversalAdapter}: a child {@link StubAdapter} whose position and view
+ * types are resolved by a {@link MergeIndex}.
+ */
+public class StubPiece implements MergeIndex.Piece {
+
+    // region Members
+
+    final StubAdapter adapter;
+
+    /**
+     * The position this piece starts at, as last resolved from the merge index.
+     */
+    int startPosition;
+
+    // endregion Members
+
+    // region Constructors
+
+    public StubPiece(StubAdapter adapter) {
+        this.adapter = adapter;
+    }
+
+    // endregion Constructors
+
+    // region Inherited Methods
+
+    @Override
+    public int getCount() {
+        return adapter.getInternalCount();
+    }
+
+    @Override
+    public int getViewTypeCount() {
+        return adapter.getInternalItemViewTypeCount();
+    }
+
+    @Override
+    public Object getViewTypeKey(int viewType) {
+        return null;
+    }
+
+    // endregion Inherited Methods
+}
@@ -0,0 +1,109 @@
+package com.raizlabs.universaladapter.benchmark;
+
+import com.raizlabs.universaladapter.util.ChangeDispatcher;
+import com.raizlabs.universaladapter.util.ListEditor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole transaction: {@code beginTransaction()}, a batch of edits recorded in the change log, and
+ * {@code endTransaction()} replaying the coalesced changes, through the adapter's {@link ListEditor} and
+ * {@link ChangeDispatcher}. Large scattered batches go over the coalescing
+ * threshold and commit as a single generic change.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionBenchmark {
+
+    // region Constants
+
+    private static final int LIST_SIZE = 1000;
+
+    private static final Object FIRST_REPLACEMENT = "first replacement";
+    private static final Object SECOND_REPLACEMENT = "second replacement";
+
+    // endregion Constants
+
+    // region Members
+
+    @Param({"1", "16", "256"})
+    int changeCount;
+
+    /**
+     * ADJACENT changes a run of items, SCATTERED changes random items, and STREAM appends items and drops as many
+     * from the top, like a feed keeping a fixed window.
+     */
+    @Param({"ADJACENT", "SCATTERED", "STREAM"})
+    String pattern;
+
+    private StubListObserver listObserver;
+    private ChangeDispatcher changeDispatcher;
+    private ListEditor<Object> editor;
+    private int[] positions;
+    private boolean replaceWithFirst;
+
+    // endregion Members
+
+    // region Instance Methods
+
+    @Setup
+    public void setUp() {
+        List<Object> items = new ArrayList<>(LIST_SIZE);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            items.add("item " + i);
+        }
+        listObserver = new StubListObserver();
+        changeDispatcher = new ChangeDispatcher(listObserver);
+        editor = new ListEditor<>(items, changeDispatcher);
+
+        Random random = new Random(42);
+        positions = new int[changeCount];
+        int runStart = random.nextInt(LIST_SIZE - changeCount);
+        for (int i = 0; i < changeCount; i++) {
+            positions[i] = "ADJACENT".equals(pattern) ? runStart + i : random.nextInt(LIST_SIZE);
+        }
+    }
+
+    @Benchmark
+    public int commit() {
+        changeDispatcher.beginTransaction();
+        if ("STREAM".equals(pattern)) {
+            for (int i = 0; i < changeCount; i++) {
+                editor.add("new");
+            }
+            for (int i = 0; i < changeCount; i++) {
+                editor.remove(0);
+            }
+        } else {
+            // Alternates between two distinct items so every set is a change.
+            Object replacement = replaceWithFirst ? FIRST_REPLACEMENT : SECOND_REPLACEMENT;
+            replaceWithFirst = !replaceWithFirst;
+            for (int position : positions) {
+                editor.set(position, replacement);
+            }
+        }
+        changeDispatcher.endTransaction();
+        return listObserver.getTotal();
+    }
+
+    // endregion Instance Methods
+}